@@ -0,0 +1,83 @@
+package benchmarks;
+
+import sudoku.fastObjects.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed boards and solvers shared by the benchmarks, referenced by name from @Param values.
+ */
+final class Corpus {
+    /**
+     * Boards with exactly one solution.
+     */
+    static final Map<String, String> UNIQUE = new HashMap<>();
+
+    /**
+     * Boards with more solutions.
+     */
+    static final Map<String, String> MULTIPLE = new HashMap<>();
+
+    static {
+        UNIQUE.put("easy", "003020600900305001001806400008102900700000008006708200002609500800203009005010300");
+        UNIQUE.put("medium", "..53.....8......2..7..1.5..4....53...1..7...6..32...8..6.5....9..4....3......97..");
+        UNIQUE.put("hard", "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......");
+        UNIQUE.put("hardest", "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+
+        // medium with two clues removed => 113 solutions
+        MULTIPLE.put("few", "..53.....8......2..7..1.5..4....53...1..7...6..32...8..6.5....9..4....3......9...");
+        // hardest with its last clue removed => 849 solutions
+        MULTIPLE.put("many", "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9.......");
+    }
+
+    private Corpus() {
+    }
+
+    /**
+     * Parses board from 81 characters, '.' or '0' for empty field.
+     * @param line
+     * @return
+     */
+    static EvaluationBoard board(String line) {
+        int[] fields = new int[line.length()];
+        for (int i = 0; i < fields.length; i++) {
+            char character = line.charAt(i);
+            fields[i] = character == '.' || character == '0' ? -1 : character - '0';
+        }
+        return EvaluationBoard.fromFields(fields);
+    }
+
+    /**
+     * Obtains board by its name from either of the corpora.
+     * @param name
+     * @return
+     */
+    static EvaluationBoard namedBoard(String name) {
+        String line = UNIQUE.containsKey(name) ? UNIQUE.get(name) : MULTIPLE.get(name);
+        if (line == null) {
+            throw new IllegalArgumentException("Unknown board " + name + ".");
+        }
+        return board(line);
+    }
+
+    /**
+     * Obtains solver by its name.
+     * @param name
+     * @return
+     */
+    static Solver solver(String name) {
+        switch (name) {
+            case "backtracking":
+                return new BacktrackingSolver();
+            case "rowMajor":
+                return new BacktrackingSolver(CellOrder.ROW_MAJOR, false);
+            case "dancingLinks":
+                return new DancingLinksSolver();
+            case "parallel":
+                return new ParallelSolver();
+            default:
+                throw new IllegalArgumentException("Unknown solver " + name + ".");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.Sudoku;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.objects.Move;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures queries done by the game on every move, on a fixed half-played game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private static final long SEED = 20180203L;
+
+    private Sudoku sudoku;
+
+    @Setup
+    public void setUp() {
+        Puzzle puzzle = Puzzle.generate(Difficulty.HARD, EvaluationBoard.DEFAULT_SOLVER, new SplittableRandom(SEED));
+        sudoku = Sudoku.fromPuzzle(puzzle);
+
+        // play half of the missing fields correctly
+        for (int i = 0; i < Difficulty.HARD.getFieldsToReset() / 2; i++) {
+            Move hint = sudoku.getHint();
+            if (hint == null) {
+                break;
+            }
+            sudoku.play(hint);
+        }
+    }
+
+    @Benchmark
+    public Move getHint() {
+        return sudoku.getHint();
+    }
+
+    @Benchmark
+    public boolean isFinished() {
+        return sudoku.isFinished();
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Solver;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of a full board and resetting its fields. Random sources are created from fixed seeds
+ * on every invocation, so every invocation does the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+    private static final long SEED = 20180202L;
+
+    @Param({"backtracking", "dancingLinks"})
+    public String solverName;
+
+    @Param({"15", "30", "40"})
+    public int fieldsToReset;
+
+    private Solver solver;
+    private EvaluationBoard solution;
+
+    @Setup
+    public void setUp() {
+        solver = Corpus.solver(solverName);
+        solution = EvaluationBoard.generateNew(solver, new SplittableRandom(SEED));
+    }
+
+    @Benchmark
+    public EvaluationBoard generateNew() {
+        return EvaluationBoard.generateNew(solver, new SplittableRandom(SEED));
+    }
+
+    @Benchmark
+    public EvaluationBoard resetFields() {
+        return solution.resetFields(fieldsToReset, solver, new SplittableRandom(SEED));
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures uniqueness check on the fixed corpus of boards with one and with more solutions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniquenessBenchmark {
+    @Param({"backtracking", "rowMajor", "dancingLinks", "parallel"})
+    public String solverName;
+
+    @Param({"easy", "medium", "hard", "hardest", "few", "many"})
+    public String boardName;
+
+    private Solver solver;
+    private EvaluationBoard board;
+
+    @Setup
+    public void setUp() {
+        solver = Corpus.solver(solverName);
+        board = Corpus.namedBoard(boardName);
+
+        // corpus must not change its meaning
+        if (board.hasUniqueSolution(solver) != Corpus.UNIQUE.containsKey(boardName)) {
+            throw new IllegalStateException("Board " + boardName + " is not where it belongs in the corpus.");
+        }
+    }
+
+    @Benchmark
+    public boolean hasUniqueSolution() {
+        return board.hasUniqueSolution(solver);
+    }
+}
@@ -0,0 +1,265 @@
+package cli;
+
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Grader;
+import sudoku.fastObjects.Solver;
+import sudoku.io.LineCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * Solves file of puzzles (one puzzle per line, in the format of @{@link LineCodec}) without the GUI.
+ * Lines are read and solved in batches across a pool of threads and results are written in the order of the input,
+ * one line per puzzle: the solution (number of solutions with --count, grade by @{@link Grader} with --grade),
+ * "unsolvable" or "invalid: reason". Same input gives always the same output, puzzles with more solutions included
+ * (numbers are tried in ascending order).
+ * Blank lines of the input are skipped.
+ *
+ * Usage: BulkSolver input output [--count limit | --grade] [--threads n]
+ */
+public class BulkSolver {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Number of puzzles solved by one task.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Number of batches waiting or being solved per thread, bounds memory used by large files.
+     */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private final Solver solver = EvaluationBoard.DEFAULT_SOLVER;
+
+    /**
+     * Number of solutions to count up to, 0 => write solutions.
+     */
+    private final int countLimit;
+
+    /**
+     * Grader of the puzzles, null => write solutions.
+     */
+    private final Grader grader;
+
+    private final int threadCount;
+
+    private BulkSolver(int countLimit, Grader grader, int threadCount) {
+        this.countLimit = countLimit;
+        this.grader = grader;
+        this.threadCount = threadCount;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path input = null;
+        Path output = null;
+        int countLimit = 0;
+        Grader grader = null;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--count")) {
+                    countLimit = Integer.parseInt(args[++i]);
+                }
+                else if (args[i].equals("--grade")) {
+                    grader = new Grader();
+                }
+                else if (args[i].equals("--threads")) {
+                    threadCount = Integer.parseInt(args[++i]);
+                }
+                else if (input == null) {
+                    input = Paths.get(args[i]);
+                }
+                else if (output == null) {
+                    output = Paths.get(args[i]);
+                }
+                else {
+                    throw new IllegalArgumentException("Unexpected argument " + args[i] + ".");
+                }
+            }
+            if (input == null || output == null || countLimit < 0 || threadCount < 1 || (countLimit > 0 && grader != null)) {
+                throw new IllegalArgumentException("Input and output must be specified, limit and threads must be positive.");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: BulkSolver input output [--count limit | --grade] [--threads n]");
+            System.exit(2);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long puzzleCount = new BulkSolver(countLimit, grader, threadCount).run(input, output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("Solved %d puzzles in %.3f s (%.0f puzzles/s)%n", puzzleCount, seconds, puzzleCount / seconds);
+    }
+
+    /**
+     * Solves every puzzle of the input, writing results to the output.
+     * @param input
+     * @param output
+     * @return Number of puzzles solved.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    private long run(Path input, Path output) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            LineReader reader = new LineReader(in);
+            ByteBuffer outBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            // strategy = batches are solved in any order, but results are taken from the queue in the order of the input
+            Queue<Future<List<String>>> running = new ArrayDeque<>();
+            long puzzleCount = 0;
+            try {
+                List<String> batch = reader.readLines(BATCH_SIZE);
+                while (!batch.isEmpty() || !running.isEmpty()) {
+                    if (!batch.isEmpty() && running.size() < threadCount * BATCHES_PER_THREAD) {
+                        List<String> lines = batch;
+                        running.add(executor.submit(() -> solve(lines)));
+                        puzzleCount += lines.size();
+                        batch = reader.readLines(BATCH_SIZE);
+                        continue;
+                    }
+
+                    for (String result : running.remove().get()) {
+                        write(out, outBuffer, result);
+                    }
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Solving failed.", e.getCause());
+            } finally {
+                for (Future<List<String>> future : running) {
+                    future.cancel(true);
+                }
+            }
+
+            flush(out, outBuffer);
+            return puzzleCount;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> solve(List<String> lines) {
+        List<String> results = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            results.add(solve(line));
+        }
+        return results;
+    }
+
+    private String solve(String line) {
+        EvaluationBoard board;
+        try {
+            board = LineCodec.decode(line);
+        } catch (IllegalArgumentException e) {
+            return "invalid: " + e.getMessage();
+        }
+
+        if (grader != null) {
+            return grader.grade(board).toString();
+        }
+        if (countLimit > 0) {
+            return Integer.toString(solver.countSolutions(board, countLimit));
+        }
+
+        EvaluationBoard solution = solver.solve(board);
+        return solution == null ? "unsolvable" : LineCodec.encode(solution);
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer, String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        if (buffer.remaining() < bytes.length + 1) {
+            flush(out, buffer);
+        }
+        // longer than the buffer only for absurd invalid lines
+        if (buffer.remaining() < bytes.length + 1) {
+            ByteBuffer longLine = ByteBuffer.wrap(bytes);
+            while (longLine.hasRemaining()) {
+                out.write(longLine);
+            }
+        }
+        else {
+            buffer.put(bytes);
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads lines of the channel through a fixed buffer, accepting both "\n" and "\r\n" line ends.
+     */
+    private static class LineReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final StringBuilder line = new StringBuilder(LineCodec.LINE_LENGTH);
+
+        LineReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        /**
+         * Reads at most @count lines, blank lines are skipped.
+         * @param count
+         * @return Lines read, empty at the end of the file.
+         * @throws IOException
+         */
+        List<String> readLines(int count) throws IOException {
+            List<String> lines = new ArrayList<>(count);
+            while (lines.size() < count) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    boolean isEndOfFile = channel.read(buffer) < 0;
+                    buffer.flip();
+                    if (isEndOfFile) {
+                        // last line without line end
+                        addLine(lines);
+                        break;
+                    }
+                }
+
+                char character = (char) buffer.get();
+                if (character == '\n') {
+                    addLine(lines);
+                }
+                else if (character != '\r') {
+                    line.append(character);
+                }
+            }
+            return lines;
+        }
+
+        private void addLine(List<String> lines) {
+            if (line.length() > 0) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+        }
+    }
+}
@@ -5,11 +5,19 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import sudoku.generation.PuzzlePool;
+import sudoku.statistics.GenerationMonitor;
 
 public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception{
+        // before the pool, so its generation is monitored too
+        GenerationMonitor.registerIfEnabled();
+
+        // start generating games in the background, so new game does not have to wait for them
+        PuzzlePool.getDefault();
+
         Parent root = FXMLLoader.load(getClass().getClassLoader().getResource("fxml/main.fxml"));
         primaryStage.setTitle("Sudoku");
 
@@ -1,5 +1,7 @@
 package gui;
 
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
@@ -7,7 +9,6 @@ import javafx.scene.layout.*;
 import sudoku.Coordinate;
 import sudoku.Difficulty;
 import sudoku.Sudoku;
-import sudoku.objects.Board;
 import sudoku.objects.Field;
 import sudoku.objects.Move;
 
@@ -19,18 +20,32 @@ public class MainController {
 
     private boolean dontCallListener;
 
+    /**
+     * Game being generated in the background, null if nothing is generated.
+     */
+    private Task<Sudoku> generationTask;
+
     @FXML
     private Label hintLabel;
 
     @FXML
     private Label backLabel;
 
+    @FXML
+    private Label redoLabel;
+
     @FXML
     private GridPane grid;
 
+    /**
+     * Progress indicator and cancel button, shown while the game is generated.
+     */
+    @FXML
+    private HBox generationBox;
+
     private void generateGUI() {
         grid.getChildren().clear();
-        int boardSize = Board.BOARD_SIZE;
+        int boardSize = sudoku.getBoard().getSize();
         fields = new TextField[boardSize][];
 
         for (int i = 0; i < boardSize; i++) {
@@ -48,6 +63,7 @@ public class MainController {
         grid.setDisable(false);
         hintLabel.setDisable(false);
         backLabel.setDisable(false);
+        redoLabel.setDisable(false);
     }
 
     /**
@@ -98,16 +114,17 @@ public class MainController {
         else {
             styles.append("-fx-text-fill: black;");
         }
+        int areaSize = sudoku.getBoard().getAreaSize();
         // column is area sized
-        if (row % Board.AREA_SIZE == 0 && column % Board.AREA_SIZE == 0) {
+        if (row % areaSize == 0 && column % areaSize == 0) {
             // highlight from upper and left side
             styles.append("-fx-border-width: 4 1 1 4;");
         }
-        else if (column % Board.AREA_SIZE == 0) {
+        else if (column % areaSize == 0) {
             // highlight from left side
             styles.append("-fx-border-width: 1 1 1 4;");
         }
-        else if (row % Board.AREA_SIZE == 0) {
+        else if (row % areaSize == 0) {
             // highlight from upper side
             styles.append("-fx-border-width: 4 1 1 1;");
         }
@@ -115,8 +132,8 @@ public class MainController {
     }
 
     private Coordinate getTextFieldCoordinates(TextField textField) {
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < fields[i].length; j++) {
                 if (textField == fields[i][j]) {
                     return new Coordinate(i, j);
                 }
@@ -144,15 +161,89 @@ public class MainController {
         if (dialogResult.isPresent()) {
             // get the chosen answer
             Difficulty chosenDifficulty = dialogResult.get();
-            // generate the new game
-            sudoku = Sudoku.generateNewGame(chosenDifficulty);
+            // generate the new game, the current one can be played meanwhile
+            generateNewGame(chosenDifficulty);
+        }
+    }
+
+    /**
+     * Generates new game in the background and displays it when it is done.
+     * Generation of other game that is still running is cancelled.
+     * @param difficulty
+     */
+    private void generateNewGame(Difficulty difficulty) {
+        stopGeneration();
+
+        Task<Sudoku> task = new Task<Sudoku>() {
+            @Override
+            protected Sudoku call() {
+                return Sudoku.generateNewGame(difficulty);
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            // other generation was started meanwhile => this game is not wanted
+            if (task != generationTask) {
+                return;
+            }
+            setGenerating(null);
+
+            sudoku = task.getValue();
             // display the newly generated game
             generateGUI();
             // hint button will be enabled for the game
             hintLabel.setDisable(false);
+        });
+        task.setOnFailed(event -> {
+            if (task != generationTask) {
+                return;
+            }
+            setGenerating(null);
+
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("The game could not be generated: " + task.getException().getMessage());
+
+            alert.showAndWait();
+        });
+
+        setGenerating(task);
+
+        Thread thread = new Thread(task, "game-generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Is invoked when Cancel button of the generation is pressed.
+     * @param event
+     */
+    @FXML
+    private void cancelGeneration(ActionEvent event) {
+        stopGeneration();
+    }
+
+    /**
+     * Cancels generation of the game, if there is any. Generating thread is interrupted, so it stops soon.
+     */
+    private void stopGeneration() {
+        if (generationTask != null) {
+            generationTask.cancel();
+            setGenerating(null);
         }
     }
 
+    /**
+     * Remembers the generation and shows its progress, or hides the progress if @task is null.
+     * @param task
+     */
+    private void setGenerating(Task<Sudoku> task) {
+        generationTask = task;
+        generationBox.setVisible(task != null);
+        generationBox.setManaged(task != null);
+    }
+
     /**
      * Handles displaying hint to the user and refreshing the board (frontend and backend).
      * @param event
@@ -202,6 +293,34 @@ public class MainController {
         }
     }
 
+    /**
+     * Handles "redo" event. Plays again the last turn reset by "back".
+     * @param event
+     */
+    @FXML
+    private void redo(MouseEvent event) {
+        Coordinate coordinate = sudoku.redo();
+
+        // no move was played again
+        if (coordinate != null) {
+            int row = coordinate.getRow();
+            int column = coordinate.getColumn();
+
+            Field field = sudoku.getBoard().getField(row, column);
+
+            dontCallListener = true;
+            fields[row][column].setText(field.toString());
+            dontCallListener = false;
+
+            if (sudoku.isFinished()) {
+                finishTheGame();
+            }
+            else if (sudoku.isBoardFilled()) {
+                handleFilledNonFinishedGame();
+            }
+        }
+    }
+
     /**
      * Handles playing the move.
      * @param move
@@ -224,6 +343,7 @@ public class MainController {
         grid.setDisable(true);
         hintLabel.setDisable(true);
         backLabel.setDisable(true);
+        redoLabel.setDisable(true);
 
         // alert user that the game has won
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
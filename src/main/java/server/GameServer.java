@@ -0,0 +1,446 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import sudoku.Coordinate;
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.Sudoku;
+import sudoku.fastObjects.BudgetExhaustedException;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.SearchBudget;
+import sudoku.fastObjects.Solver;
+import sudoku.generation.PuzzlePool;
+import sudoku.io.LineCodec;
+import sudoku.objects.Field;
+import sudoku.objects.Move;
+import sudoku.statistics.GenerationMonitor;
+
+import javax.management.JMException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Serves games of Sudoku as JSON endpoints over HTTP, without the GUI. Games are kept in memory as sessions,
+ * sessions not used for @{@link #SESSION_TIMEOUT_MINUTES} minutes are dropped and there are at most
+ * @{@link #MAX_SESSIONS} of them (least recently used ones are dropped first).
+ * Every request is handled on its own virtual thread when the JVM has them (Java 21+), on a cached pool otherwise.
+ *
+ * All endpoints take POST with JSON object (boards in the format of @{@link LineCodec}):
+ * /generate {difficulty, [seed], [timeout]}, /solve {board}, /validate {board},
+ * /hint {session}, /play {session, row, column, number}, /back {session}, /redo {session}, /close {session}.
+ * Requests whose search runs out of its time limit (solving of client boards, filling of generated board) are answered by 503.
+ *
+ * Usage: GameServer [--port n]
+ */
+public class GameServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int SESSION_TIMEOUT_MINUTES = 30;
+
+    /**
+     * Maximal number of open sessions, opening more drops the sessions not used for the longest time,
+     * so clients opening sessions in a loop cannot exhaust the heap.
+     */
+    private static final int MAX_SESSIONS = 10_000;
+    private static final int MAX_REQUEST_BYTES = 1 << 16;
+
+    /**
+     * Smallest timeout of the generation (in milliseconds), smaller ones are rejected.
+     * Generation of hard 9x9 game takes about 0.1 ms, but over 1 ms in 1 % of cases, so timeout only cuts off
+     * the slowest generations, while the games are as hard as the difficulty asks for nearly always.
+     */
+    private static final long MIN_TIMEOUT_MILLIS = 2;
+
+    /**
+     * Limit of the search of /solve and /validate: boards come from clients (up to 25x25), nearly empty ones
+     * could keep the search running for very long. Requests running out of it are answered by 503.
+     */
+    private static final SearchBudget SOLVE_BUDGET = SearchBudget.ofTime(1, TimeUnit.SECONDS);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService expiration;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Solver solver = EvaluationBoard.DEFAULT_SOLVER;
+
+    /**
+     * Creates server listening on the port, requests are handled after @{@link #start()}.
+     * @param port
+     * @throws IOException
+     */
+    public GameServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = createExecutor();
+        server.setExecutor(executor);
+
+        expiration = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        addEndpoint("/generate", this::generate);
+        addEndpoint("/solve", this::solve);
+        addEndpoint("/validate", this::validate);
+        addEndpoint("/hint", this::hint);
+        addEndpoint("/play", this::play);
+        addEndpoint("/back", this::back);
+        addEndpoint("/redo", this::redo);
+        addEndpoint("/close", this::closeSession);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--port")) {
+                    port = Integer.parseInt(args[++i]);
+                }
+                else {
+                    throw new IllegalArgumentException("Unexpected argument " + args[i] + ".");
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Usage: GameServer [--port n]");
+            System.exit(2);
+            return;
+        }
+
+        // long running service => statistics of generation are always available over JMX
+        try {
+            GenerationMonitor.register();
+        } catch (JMException e) {
+            System.err.println("Generation monitor was not registered: " + e.getMessage());
+        }
+
+        GameServer gameServer = new GameServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(gameServer::close));
+        gameServer.start();
+
+        System.err.println("Serving games on port " + port);
+    }
+
+    /**
+     * Obtains executor running every task on new virtual thread, or cached pool of threads before Java 21.
+     */
+    private static ExecutorService createExecutor() {
+        // strategy = virtual threads are looked up by reflection, so the game still runs on Java 8
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Starts handling requests and expiring idle sessions.
+     */
+    public void start() {
+        long timeoutNanos = TimeUnit.MINUTES.toNanos(SESSION_TIMEOUT_MINUTES);
+        expiration.scheduleWithFixedDelay(() -> {
+            long now = System.nanoTime();
+            sessions.values().removeIf(session -> session.isIdle(now, timeoutNanos));
+        }, 1, 1, TimeUnit.MINUTES);
+
+        server.start();
+    }
+
+    /**
+     * Stops the server, requests being handled are interrupted.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        expiration.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void addEndpoint(String path, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try {
+                if (!exchange.getRequestMethod().equals("POST")) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    respond(exchange, 405, new Json().put("error", "Only POST is allowed."));
+                    return;
+                }
+
+                String body = readBody(exchange);
+                Map<String, String> request = body.trim().isEmpty() ? Collections.emptyMap() : Json.parseObject(body);
+                respond(exchange, 200, endpoint.handle(request));
+            } catch (UnknownSessionException e) {
+                respond(exchange, 404, new Json().put("error", e.getMessage()));
+            } catch (BudgetExhaustedException e) {
+                respond(exchange, 503, new Json().put("error", "Request ran out of its time limit."));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, new Json().put("error", e.getMessage()));
+            } catch (RuntimeException e) {
+                respond(exchange, 500, new Json().put("error", "Internal error."));
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        try (InputStream input = exchange.getRequestBody()) {
+            for (int read; (read = input.read(buffer)) >= 0; ) {
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_REQUEST_BYTES) {
+                    throw new IllegalArgumentException("Request is too large.");
+                }
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, Json response) throws IOException {
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Generates new game and opens session for it. Without seed and timeout the game is taken from the puzzle pool,
+     * with timeout (in milliseconds, at least @{@link #MIN_TIMEOUT_MILLIS}) the game may have fewer empty fields
+     * than the difficulty asks for. Response tells the number of empty fields as "resets" and the seed as string,
+     * seed of the request can be either string or number.
+     */
+    private Json generate(Map<String, String> request) {
+        Difficulty difficulty = parseDifficulty(required(request, "difficulty"));
+        String seedText = request.get("seed");
+        String timeoutText = request.get("timeout");
+
+        Puzzle puzzle;
+        Sudoku sudoku;
+        Long seed = null;
+        if (seedText == null && timeoutText == null) {
+            puzzle = PuzzlePool.getDefault().take(difficulty);
+            sudoku = Sudoku.fromPuzzle(puzzle);
+        }
+        else {
+            seed = seedText == null ? ThreadLocalRandom.current().nextLong() : parseLong(seedText, "seed");
+            SearchBudget budget = null;
+            if (timeoutText != null) {
+                long timeout = parseLong(timeoutText, "timeout");
+                if (timeout < MIN_TIMEOUT_MILLIS) {
+                    throw new IllegalArgumentException("Parameter timeout must be at least " + MIN_TIMEOUT_MILLIS + " ms.");
+                }
+                budget = SearchBudget.ofTime(timeout, TimeUnit.MILLISECONDS);
+            }
+
+            // same random for the puzzle and the hints, like seeded Sudoku.generateNewGame
+            SplittableRandom random = new SplittableRandom(seed);
+            puzzle = Puzzle.generateWithin(difficulty, solver, random, budget);
+            sudoku = Sudoku.fromPuzzle(puzzle, random);
+        }
+
+        GameSession session = new GameSession(UUID.randomUUID().toString(), sudoku);
+        while (sessions.size() >= MAX_SESSIONS) {
+            dropLeastRecentSession();
+        }
+        sessions.put(session.getId(), session);
+
+        Json response = session.withGame(game -> state(session, game)).put("resets", puzzle.getResetCount());
+        if (seed != null) {
+            // as string => JavaScript clients (numbers are doubles) send back the same seed
+            response.put("seed", Long.toString(seed));
+        }
+        return response;
+    }
+
+    /**
+     * Solves the board within @{@link #SOLVE_BUDGET}.
+     */
+    private Json solve(Map<String, String> request) {
+        EvaluationBoard board = LineCodec.decode(required(request, "board"));
+        EvaluationBoard solution = solver.solve(board, null, SOLVE_BUDGET.start());
+
+        return new Json().put("solution", solution == null ? null : LineCodec.encode(solution));
+    }
+
+    /**
+     * Reports whether the board keeps the rules and how many solutions (up to 2) it has, counted within @{@link #SOLVE_BUDGET}.
+     */
+    private Json validate(Map<String, String> request) {
+        EvaluationBoard board;
+        try {
+            board = LineCodec.decode(required(request, "board"));
+        } catch (IllegalArgumentException e) {
+            return new Json().put("valid", false).put("error", e.getMessage());
+        }
+
+        int solutionCount = solver.countSolutions(board, 2, null, SOLVE_BUDGET.start());
+        return new Json().put("valid", true).put("solutionCount", solutionCount).put("unique", solutionCount == 1);
+    }
+
+    /**
+     * Plays hint move (fix of the first mistake or random empty field), like the hint of the GUI.
+     */
+    private Json hint(Map<String, String> request) {
+        GameSession session = session(request);
+        return session.withGame(sudoku -> {
+            Move move = sudoku.getHint();
+            // board is solved => there is nothing to hint
+            if (move != null) {
+                sudoku.playHint(move);
+            }
+
+            Json hint = move == null ? null : field(move.getRow(), move.getColumn()).put("number", move.getNumber());
+            return state(session, sudoku).put("hint", hint);
+        });
+    }
+
+    private Json play(Map<String, String> request) {
+        GameSession session = session(request);
+        int row = parseInt(required(request, "row"), "row");
+        int column = parseInt(required(request, "column"), "column");
+        int number = parseInt(required(request, "number"), "number");
+
+        return session.withGame(sudoku -> {
+            int size = sudoku.getBoard().getSize();
+            if (row < 0 || row >= size || column < 0 || column >= size) {
+                throw new IllegalArgumentException("Row and column must be between 0-" + (size - 1) + ".");
+            }
+            if (number < 1 || number > size) {
+                throw new IllegalArgumentException("Number must be between 1-" + size + ".");
+            }
+            // pre-generated fields and fields fixed by hints cannot be changed, like in the GUI
+            Field field = sudoku.getBoard().getField(row, column);
+            if (field.hasValue() && !sudoku.didUserWriteThisFieldValue(row, column)) {
+                throw new IllegalArgumentException("Field cannot be changed.");
+            }
+
+            sudoku.play(new Move(row, column, number));
+            return state(session, sudoku);
+        });
+    }
+
+    private Json back(Map<String, String> request) {
+        GameSession session = session(request);
+        return session.withGame(sudoku -> {
+            Coordinate coordinate = sudoku.back();
+            return state(session, sudoku).put("changed", coordinate == null ? null : field(coordinate.getRow(), coordinate.getColumn()));
+        });
+    }
+
+    private Json redo(Map<String, String> request) {
+        GameSession session = session(request);
+        return session.withGame(sudoku -> {
+            Coordinate coordinate = sudoku.redo();
+            return state(session, sudoku).put("changed", coordinate == null ? null : field(coordinate.getRow(), coordinate.getColumn()));
+        });
+    }
+
+    /**
+     * Drops the session not used for the longest time.
+     */
+    private void dropLeastRecentSession() {
+        GameSession leastRecent = null;
+        for (GameSession session : sessions.values()) {
+            // nanoTime values are compared by their difference
+            if (leastRecent == null || session.getLastAccess() - leastRecent.getLastAccess() < 0) {
+                leastRecent = session;
+            }
+        }
+        if (leastRecent != null) {
+            sessions.remove(leastRecent.getId(), leastRecent);
+        }
+    }
+
+    private Json closeSession(Map<String, String> request) {
+        GameSession session = session(request);
+        sessions.remove(session.getId());
+        return new Json().put("session", session.getId()).put("closed", true);
+    }
+
+    /**
+     * Obtains state of the game, must be called while holding the lock of the session.
+     */
+    private static Json state(GameSession session, Sudoku sudoku) {
+        return new Json()
+                .put("session", session.getId())
+                .put("board", LineCodec.encode(sudoku.getBoard()))
+                .put("filled", sudoku.isBoardFilled())
+                .put("finished", sudoku.isFinished())
+                .put("wrongFields", sudoku.getWrongFieldCount());
+    }
+
+    private static Json field(int row, int column) {
+        return new Json().put("row", row).put("column", column);
+    }
+
+    private GameSession session(Map<String, String> request) {
+        String id = required(request, "session");
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            throw new UnknownSessionException("Session " + id + " does not exist or has expired.");
+        }
+        return session;
+    }
+
+    private static String required(Map<String, String> request, String name) {
+        String value = request.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Parameter " + name + " is required.");
+        }
+        return value;
+    }
+
+    private static Difficulty parseDifficulty(String text) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.name().equalsIgnoreCase(text)) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty " + text + ".");
+    }
+
+    private static int parseInt(String text, String name) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number.");
+        }
+    }
+
+    private static long parseLong(String text, String name) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number.");
+        }
+    }
+
+    private interface Endpoint {
+        Json handle(Map<String, String> request);
+    }
+
+    /**
+     * Thrown when request refers to a session which does not exist, answered by 404.
+     */
+    private static class UnknownSessionException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        UnknownSessionException(String message) {
+            super(message);
+        }
+    }
+}
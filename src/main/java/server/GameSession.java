@@ -0,0 +1,66 @@
+package server;
+
+import sudoku.Sudoku;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Represents one game played through the service. @{@link Sudoku} is not thread-safe, so every access
+ * to the game goes through @{@link #withGame(Function)}, which holds the lock of the session.
+ */
+class GameSession {
+    private final String id;
+    private final Sudoku sudoku;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Value of @{@link System#nanoTime()} of the last access, for expiration of idle sessions.
+     */
+    private volatile long lastAccess;
+
+    GameSession(String id, Sudoku sudoku) {
+        this.id = id;
+        this.sudoku = sudoku;
+        lastAccess = System.nanoTime();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Obtains value of @{@link System#nanoTime()} of the last access.
+     * @return
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Runs @action on the game while no other request can access it.
+     * @param action
+     * @param <T>
+     * @return Result of the action.
+     */
+    <T> T withGame(Function<Sudoku, T> action) {
+        // lock instead of synchronized => virtual thread waiting for it does not pin its carrier thread
+        lock.lock();
+        try {
+            lastAccess = System.nanoTime();
+            return action.apply(sudoku);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reports whether the session was not accessed for @timeoutNanos.
+     * @param now Current value of @{@link System#nanoTime()}.
+     * @param timeoutNanos
+     * @return
+     */
+    boolean isIdle(long now, long timeoutNanos) {
+        return now - lastAccess > timeoutNanos;
+    }
+}
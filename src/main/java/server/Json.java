@@ -0,0 +1,236 @@
+package server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes flat JSON objects (values are strings, numbers, booleans or null), which is all the game service needs.
+ */
+class Json {
+    private final StringBuilder builder = new StringBuilder("{");
+
+    /**
+     * Parses flat JSON object.
+     * @param text
+     * @return Values of the object by their names, numbers and booleans as their text, null for null.
+     * @throws IllegalArgumentException If the text is not flat JSON object.
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> values = parser.parseObject();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw new IllegalArgumentException("Unexpected characters after JSON object.");
+        }
+        return values;
+    }
+
+    Json put(String name, String value) {
+        name(name);
+        if (value == null) {
+            builder.append("null");
+        }
+        else {
+            quote(value);
+        }
+        return this;
+    }
+
+    Json put(String name, long value) {
+        name(name);
+        builder.append(value);
+        return this;
+    }
+
+    Json put(String name, boolean value) {
+        name(name);
+        builder.append(value);
+        return this;
+    }
+
+    /**
+     * Puts nested object, which must be already finished.
+     * @param name
+     * @param value
+     * @return
+     */
+    Json put(String name, Json value) {
+        name(name);
+        builder.append(value);
+        return this;
+    }
+
+    private void name(String name) {
+        if (builder.length() > 1) {
+            builder.append(',');
+        }
+        quote(name);
+        builder.append(':');
+    }
+
+    private void quote(String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) character));
+                    }
+                    else {
+                        builder.append(character);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return builder + "}";
+    }
+
+    private static class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parseObject() {
+            Map<String, String> values = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return values;
+            }
+
+            while (true) {
+                skipWhitespace();
+                String name = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                values.put(name, parseValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                    continue;
+                }
+                expect('}');
+                return values;
+            }
+        }
+
+        private String parseValue() {
+            char character = peek();
+            if (character == '"') {
+                return parseString();
+            }
+            if (character == '{' || character == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported.");
+            }
+
+            // number, boolean or null => text up to the end of the value
+            int start = position;
+            while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String value = text.substring(start, position);
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Missing JSON value at " + start + ".");
+            }
+            return value.equals("null") ? null : value;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char character = next();
+                if (character == '"') {
+                    return value.toString();
+                }
+                if (character != '\\') {
+                    value.append(character);
+                    continue;
+                }
+
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Unfinished JSON escape.");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid JSON escape.");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        // \" \\ \/
+                        value.append(escaped);
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON.");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char character = peek();
+            position++;
+            return character;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at " + (position - 1) + ".");
+            }
+        }
+    }
+}
@@ -8,14 +8,37 @@ package sudoku;
  * Represents difficulty of the game.
  */
 public enum Difficulty {
-    EASY("Easy"),
-    MEDIUM("Medium"),
-    HARD("Hard");
+    EASY("Easy", 15),
+    MEDIUM("Medium", 30),
+    HARD("Hard", 40);
 
     private String value;
 
-    Difficulty(String value) {
+    /**
+     * Number of fields reset from the generated 9x9 board.
+     */
+    private int fieldsToReset;
+
+    Difficulty(String value, int fieldsToReset) {
         this.value = value;
+        this.fieldsToReset = fieldsToReset;
+    }
+
+    /**
+     * Obtains number of fields reset from the generated board.
+     * @return
+     */
+    public int getFieldsToReset() {
+        return fieldsToReset;
+    }
+
+    /**
+     * Obtains number of fields reset from the generated board with @cellCount fields, same share as on 9x9 board.
+     * @param cellCount
+     * @return
+     */
+    public int getFieldsToReset(int cellCount) {
+        return fieldsToReset * cellCount / 81;
     }
 
     @Override
@@ -0,0 +1,162 @@
+package sudoku;
+
+import sudoku.objects.Move;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represents moves played by the user: in the order of playing (for undo and redo) and per field (for ownership and
+ * the value restored by undo). Every operation takes constant (amortized) time regardless of the number of moves.
+ */
+class MoveHistory {
+    private final int size;
+
+    /**
+     * Last move played on every field (row * size + column), null if the user did not play there.
+     */
+    private final PlayedMove[] lastMoves;
+
+    /**
+     * Moves in the order of playing, the last one on the top. May contain moves removed by hints, which are skipped.
+     */
+    private final Deque<PlayedMove> undoMoves = new ArrayDeque<>();
+
+    /**
+     * Moves taken back by undo, the last one on the top.
+     */
+    private final Deque<PlayedMove> redoMoves = new ArrayDeque<>();
+
+    MoveHistory(int size) {
+        this.size = size;
+        lastMoves = new PlayedMove[size * size];
+    }
+
+    /**
+     * Adds new move of the user, which makes moves taken back impossible to redo.
+     * @param move
+     */
+    void add(Move move) {
+        redoMoves.clear();
+        push(new PlayedMove(move, lastMoves[index(move)]));
+    }
+
+    private void push(PlayedMove playedMove) {
+        lastMoves[index(playedMove.move)] = playedMove;
+        undoMoves.push(playedMove);
+    }
+
+    /**
+     * Reports whether the user played on the field (and the move was not taken back or replaced by hint).
+     * @param row
+     * @param column
+     * @return
+     */
+    boolean hasMove(int row, int column) {
+        return lastMoves[row * size + column] != null;
+    }
+
+    /**
+     * Takes back the last move.
+     * @return Move taken back, null if there is no move.
+     */
+    PlayedMove undo() {
+        PlayedMove playedMove = undoMoves.poll();
+        // moves replaced by hints are skipped only here, so every move is skipped at most once
+        while (playedMove != null && playedMove.isRemoved) {
+            playedMove = undoMoves.poll();
+        }
+        if (playedMove == null) {
+            return null;
+        }
+
+        lastMoves[index(playedMove.move)] = playedMove.previous;
+        redoMoves.push(playedMove);
+        return playedMove;
+    }
+
+    /**
+     * Plays again the last move taken back by @{@link #undo()}.
+     * @return Move played again, null if there is no move to redo.
+     */
+    Move redo() {
+        PlayedMove playedMove = redoMoves.poll();
+        if (playedMove == null) {
+            return null;
+        }
+
+        push(playedMove);
+        return playedMove.move;
+    }
+
+    /**
+     * Removes all moves of the user on the field, because hint wrote the correct value there.
+     * @param row
+     * @param column
+     */
+    void removeField(int row, int column) {
+        redoMoves.clear();
+
+        int index = row * size + column;
+        for (PlayedMove playedMove = lastMoves[index]; playedMove != null; playedMove = playedMove.previous) {
+            playedMove.isRemoved = true;
+        }
+        lastMoves[index] = null;
+    }
+
+    private int index(Move move) {
+        return move.getRow() * size + move.getColumn();
+    }
+
+    /**
+     * Represents one move in the history, linked to the earlier moves on the same field.
+     */
+    static final class PlayedMove {
+        private final Move move;
+
+        /**
+         * Previous move on the same field, null if it is the first one.
+         */
+        private final PlayedMove previous;
+
+        /**
+         * Last earlier move on the same field with a different number, null if there is none.
+         * Is the value of the field after this move is taken back.
+         */
+        private final PlayedMove previousDifferent;
+
+        private boolean isRemoved;
+
+        PlayedMove(Move move, PlayedMove previous) {
+            this.move = move;
+            this.previous = previous;
+
+            // strategy = the previous move either differs, or it has the same number and so the same previous different
+            if (previous == null) {
+                previousDifferent = null;
+            }
+            else if (previous.move.getNumber() != move.getNumber()) {
+                previousDifferent = previous;
+            }
+            else {
+                previousDifferent = previous.previousDifferent;
+            }
+        }
+
+        /**
+         * Obtains the move.
+         * @return
+         */
+        Move getMove() {
+            return move;
+        }
+
+        /**
+         * Obtains last earlier move on the same field with a different number.
+         * @return Move, null if there is none (field is reset when this move is taken back).
+         */
+        Move getPreviousDifferentMove() {
+            return previousDifferent == null ? null : previousDifferent.move;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package sudoku;
+
+import sudoku.fastObjects.Deadline;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.SearchBudget;
+import sudoku.fastObjects.SearchStatistics;
+import sudoku.fastObjects.Solver;
+import sudoku.objects.Board;
+import sudoku.statistics.GenerationListener;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Represents generated puzzle: board with unique solution and the solution itself.
+ * Is not modified after it is created, so it can be shared between threads.
+ */
+public class Puzzle {
+    /**
+     * Listeners notified about every generated puzzle. Statistics are collected only when there is some.
+     */
+    private static final List<GenerationListener> generationListeners = new CopyOnWriteArrayList<>();
+
+    private final EvaluationBoard board;
+    private final EvaluationBoard solution;
+    private final Difficulty difficulty;
+
+    public Puzzle(EvaluationBoard board, EvaluationBoard solution, Difficulty difficulty) {
+        this.board = board;
+        this.solution = solution;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty.
+     * @param difficulty Difficulty of the puzzle.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @return New puzzle.
+     */
+    public static Puzzle generate(Difficulty difficulty, Solver solver, SplittableRandom random) {
+        return generate(difficulty, Board.AREA_SIZE, solver, random);
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty on the board with areas of @areaSize x @areaSize fields.
+     * @param difficulty Difficulty of the puzzle.
+     * @param areaSize Size of the areas, e.g. 4 => 16x16 board.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @return New puzzle.
+     */
+    public static Puzzle generate(Difficulty difficulty, int areaSize, Solver solver, SplittableRandom random) {
+        return generateWithin(difficulty, areaSize, solver, random, null);
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty, resetting only as many fields as the budget allows.
+     * Puzzle has unique solution even when the budget runs out, it just has fewer empty fields (see @{@link #getResetCount()}),
+     * but at least one. Budget covers the whole generation, so the generation fails, if it runs out before
+     * the board is filled.
+     * @param difficulty Difficulty of the puzzle.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @param budget Limit of the work, null if it is not limited.
+     * @return New puzzle.
+     * @throws sudoku.fastObjects.BudgetExhaustedException If the budget runs out before the board is filled.
+     */
+    public static Puzzle generateWithin(Difficulty difficulty, Solver solver, SplittableRandom random, SearchBudget budget) {
+        return generateWithin(difficulty, Board.AREA_SIZE, solver, random, budget);
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty on the board with areas of @areaSize x @areaSize fields,
+     * resetting only as many fields as the budget allows.
+     * @param difficulty Difficulty of the puzzle.
+     * @param areaSize Size of the areas, e.g. 4 => 16x16 board.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @param budget Limit of the work, null if it is not limited.
+     * @return New puzzle.
+     * @throws sudoku.fastObjects.BudgetExhaustedException If the budget runs out before the board is filled.
+     */
+    public static Puzzle generateWithin(Difficulty difficulty, int areaSize, Solver solver, SplittableRandom random, SearchBudget budget) {
+        if (generationListeners.isEmpty()) {
+            return generateWithin(difficulty, areaSize, solver, random, budget, null);
+        }
+
+        SearchStatistics statistics = new SearchStatistics();
+        Puzzle puzzle = generateWithin(difficulty, areaSize, solver, random, budget, statistics);
+
+        for (GenerationListener listener : generationListeners) {
+            listener.puzzleGenerated(puzzle, statistics);
+        }
+        return puzzle;
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty, adding the work done to @statistics.
+     * @param difficulty Difficulty of the puzzle.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @return New puzzle.
+     */
+    public static Puzzle generate(Difficulty difficulty, Solver solver, SplittableRandom random, SearchStatistics statistics) {
+        return generate(difficulty, Board.AREA_SIZE, solver, random, statistics);
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty on the board with areas of @areaSize x @areaSize fields,
+     * adding the work done to @statistics.
+     * @param difficulty Difficulty of the puzzle.
+     * @param areaSize Size of the areas, e.g. 4 => 16x16 board.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @return New puzzle.
+     * @throws java.util.concurrent.CancellationException If the thread is interrupted.
+     */
+    public static Puzzle generate(Difficulty difficulty, int areaSize, Solver solver, SplittableRandom random, SearchStatistics statistics) {
+        return generateWithin(difficulty, areaSize, solver, random, null, statistics);
+    }
+
+    /**
+     * Generates new puzzle with specified difficulty on the board with areas of @areaSize x @areaSize fields,
+     * resetting only as many fields as the budget allows and adding the work done to @statistics.
+     * Budget is started first, so it limits the filling of the board as well as the resetting and the searches
+     * check it as they go: generation takes at most the budget and one interval between the checks of the search.
+     * At least one field is reset, when the board is filled in time.
+     * @param difficulty Difficulty of the puzzle.
+     * @param areaSize Size of the areas, e.g. 4 => 16x16 board.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param random Source of randomness. Is not thread-safe, each thread needs its own.
+     * @param budget Limit of the work, null if it is not limited.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @return New puzzle.
+     * @throws java.util.concurrent.CancellationException If the thread is interrupted.
+     * @throws sudoku.fastObjects.BudgetExhaustedException If the budget runs out before the board is filled.
+     */
+    public static Puzzle generateWithin(Difficulty difficulty, int areaSize, Solver solver, SplittableRandom random, SearchBudget budget, SearchStatistics statistics) {
+        long start = System.nanoTime();
+        Deadline deadline = budget == null ? null : budget.start();
+
+        // generate new board
+        EvaluationBoard solution = EvaluationBoard.generateNew(areaSize, solver, random, statistics, deadline);
+        long generated = System.nanoTime();
+
+        // reset fields according to difficulty (same share of the fields on every board size)
+        int cellCount = solution.getSize() * solution.getSize();
+        EvaluationBoard board = solution.resetFields(difficulty.getFieldsToReset(cellCount), solver, random, deadline, statistics);
+
+        if (statistics != null) {
+            statistics.addGenerateNanos(generated - start);
+            statistics.addResetNanos(System.nanoTime() - generated);
+        }
+        return new Puzzle(board, solution, difficulty);
+    }
+
+    /**
+     * Registers listener notified about every generated puzzle.
+     * @param listener
+     */
+    public static void addGenerationListener(GenerationListener listener) {
+        generationListeners.add(listener);
+    }
+
+    public static void removeGenerationListener(GenerationListener listener) {
+        generationListeners.remove(listener);
+    }
+
+    /**
+     * Obtains board of the puzzle (with empty fields).
+     * @return
+     */
+    public EvaluationBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Obtains solution of the puzzle (everything filled).
+     * @return
+     */
+    public EvaluationBoard getSolution() {
+        return solution;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Obtains number of fields reset by the generation (empty fields of the board).
+     * May be lower than the difficulty asks for, if the generation ran out of its budget or attempts.
+     * @return
+     */
+    public int getResetCount() {
+        return board.getEmptyFieldCount();
+    }
+}
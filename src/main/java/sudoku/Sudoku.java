@@ -1,6 +1,9 @@
 package sudoku;
 
 import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Solver;
+import sudoku.generation.PuzzlePool;
+import sudoku.io.PuzzleBank;
 import sudoku.objects.Board;
 import sudoku.objects.Field;
 import sudoku.objects.Move;
@@ -12,47 +15,117 @@ import java.util.*;
  */
 
 /**
- * Represents one game of Sudoku.
+ * Represents one game of Sudoku. Is not thread-safe, concurrent access to one game must be guarded by its user.
  */
 public class Sudoku {
     private Board board;
     private Board solutionBoard;
-    private List<Move> playedMoves;
+    private MoveHistory history;
 
-    private Sudoku() {
-        playedMoves = new ArrayList<>();
+    /**
+     * Fields (row * size + column) whose value differs from the solution, kept by every move.
+     */
+    private BitSet wrongFields;
+    private int wrongCount;
+
+    /**
+     * Source of randomness of the hints.
+     */
+    private final SplittableRandom random;
+
+    private Sudoku(SplittableRandom random) {
+        this.random = random;
     }
 
     /**
      * Generates new game of Sudoku with specified difficulty.
+     * Takes pre-generated puzzle from the default @{@link PuzzlePool}, generates one only if the pool is empty.
      * @param difficulty Difficulty of the game.
      * @return New game of Sudoku.
      */
     public static Sudoku generateNewGame(Difficulty difficulty) {
-        Sudoku sudoku = new Sudoku();
-
-        // generate new board
-        EvaluationBoard evaluationSolutionBoard = EvaluationBoard.generateNew();
-
-        // reset fields according to difficulty
-        EvaluationBoard evaluationBoard;
-        switch (difficulty) {
-            case EASY:
-                evaluationBoard = evaluationSolutionBoard.resetFields(15);
-                break;
-            case MEDIUM:
-                evaluationBoard = evaluationSolutionBoard.resetFields(30);
-                break;
-            case HARD:
-                evaluationBoard = evaluationSolutionBoard.resetFields(40);
-                break;
-            default:
-                throw new IllegalArgumentException("Difficulty passed as parameter does not exist.");
-        }
+        return fromPuzzle(PuzzlePool.getDefault().take(difficulty));
+    }
+
+    /**
+     * Generates new game of Sudoku with specified difficulty using specified solver.
+     * @param difficulty Difficulty of the game.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku generateNewGame(Difficulty difficulty, Solver solver) {
+        return fromPuzzle(Puzzle.generate(difficulty, solver, new SplittableRandom()));
+    }
+
+    /**
+     * Generates new game of Sudoku with specified difficulty from the seed.
+     * Same seed gives always the same game (and the same hints for the same moves), so the seed identifies the game.
+     * @param difficulty Difficulty of the game.
+     * @param seed Seed of the game.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku generateNewGame(Difficulty difficulty, long seed) {
+        return generateNewGame(difficulty, EvaluationBoard.DEFAULT_SOLVER, seed);
+    }
 
-        sudoku.solutionBoard = Board.fromEvaluationBoard(evaluationSolutionBoard);
+    /**
+     * Generates new game of Sudoku with specified difficulty from the seed using specified solver.
+     * @param difficulty Difficulty of the game.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param seed Seed of the game.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku generateNewGame(Difficulty difficulty, Solver solver, long seed) {
+        return generateNewGame(difficulty, Board.AREA_SIZE, solver, seed);
+    }
 
-        sudoku.board = Board.fromEvaluationBoard(evaluationBoard);
+    /**
+     * Generates new game of Sudoku with specified difficulty and board size from the seed using specified solver.
+     * @param difficulty Difficulty of the game.
+     * @param areaSize Size of the areas of the board, e.g. 4 => 16x16 board.
+     * @param solver Solver generating the board and checking uniqueness of its solution.
+     * @param seed Seed of the game.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku generateNewGame(Difficulty difficulty, int areaSize, Solver solver, long seed) {
+        // one random source for everything => generation and hints do not depend on anything else
+        SplittableRandom random = new SplittableRandom(seed);
+        return fromPuzzle(Puzzle.generate(difficulty, areaSize, solver, random), random);
+    }
+
+    /**
+     * Creates new game of Sudoku with specified difficulty from random puzzle of the bank, without generating it.
+     * @param bank Bank of pre-generated puzzles.
+     * @param difficulty Difficulty of the game.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku fromBank(PuzzleBank bank, Difficulty difficulty) {
+        return fromPuzzle(bank.getRandom(difficulty));
+    }
+
+    /**
+     * Creates new game of Sudoku from generated puzzle.
+     * @param puzzle
+     * @return New game of Sudoku.
+     */
+    public static Sudoku fromPuzzle(Puzzle puzzle) {
+        return fromPuzzle(puzzle, new SplittableRandom());
+    }
+
+    /**
+     * Creates new game of Sudoku from generated puzzle.
+     * @param puzzle
+     * @param random Source of randomness of the hints.
+     * @return New game of Sudoku.
+     */
+    public static Sudoku fromPuzzle(Puzzle puzzle, SplittableRandom random) {
+        Sudoku sudoku = new Sudoku(random);
+
+        sudoku.solutionBoard = Board.fromEvaluationBoard(puzzle.getSolution());
+
+        sudoku.board = Board.fromEvaluationBoard(puzzle.getBoard());
+        sudoku.wrongFields = new BitSet(sudoku.board.getSize() * sudoku.board.getSize());
+        sudoku.history = new MoveHistory(sudoku.board.getSize());
 
         return sudoku;
     }
@@ -72,7 +145,7 @@ public class Sudoku {
      * @return
      */
     public boolean didUserWriteThisFieldValue(int row, int column) {
-        return playedMoves.stream().anyMatch(x -> x.getRow() == row && x.getColumn() == column);
+        return history.hasMove(row, column);
     }
 
     /**
@@ -81,7 +154,8 @@ public class Sudoku {
      */
     public void play(Move move) {
         board.play(move);
-        playedMoves.add(move);
+        refreshWrongField(move.getRow(), move.getColumn());
+        history.add(move);
     }
 
     /**
@@ -90,69 +164,72 @@ public class Sudoku {
      */
     public void playHint(Move move) {
         board.play(move);
-        // set field to the new value
-        board.getField(move.getRow(), move.getColumn()).setValue(move.getNumber());
+        refreshWrongField(move.getRow(), move.getColumn());
 
         // remove moves user played on this particular field
-        playedMoves.removeIf(x -> x.getRow() == move.getRow() && x.getColumn() == move.getColumn());
+        history.removeField(move.getRow(), move.getColumn());
     }
 
 
     /**
      * Plays one move back (resets last move), returning coordinate that was reset.
+     * Field gets the last earlier number played there different from the number of the move, or is reset.
      * @return Coordinate that was reset.
      */
     public Coordinate back() {
-        if (playedMoves.size() == 0) {
+        MoveHistory.PlayedMove lastMove = history.undo();
+        if (lastMove == null) {
             return null;
         }
 
-        Move lastMove = playedMoves.get(playedMoves.size() - 1);
-
-        int rowIndex = lastMove.getRow();
-        int columnIndex = lastMove.getColumn();
+        int rowIndex = lastMove.getMove().getRow();
+        int columnIndex = lastMove.getMove().getColumn();
 
         // get move such that it was on the same coordinates as @lastMove but is not same
-        Move previousDifferentMove = getPreviousDifferentMove(lastMove);
+        Move previousDifferentMove = lastMove.getPreviousDifferentMove();
 
         // if exists previous different move => new number there will be from it
         if (previousDifferentMove != null) {
-            board.getField(rowIndex, columnIndex).setValue(previousDifferentMove.getNumber());
+            board.play(previousDifferentMove);
         }
         // otherwise just reset it
         else {
-            board.getField(rowIndex, columnIndex).resetValue();
+            board.resetField(rowIndex, columnIndex);
         }
-        // remove the last move
-        playedMoves.remove(lastMove);
+        refreshWrongField(rowIndex, columnIndex);
 
         return new Coordinate(rowIndex, columnIndex);
     }
 
     /**
-     * Obtains move that occurred before move with @Move values, but had different @value.
-     * @return
+     * Plays again the last move played back by @{@link #back()}, returning its coordinate.
+     * Moves played back can be played again until new move (or hint) is played.
+     * @return Coordinate of the move, null if there is no move to play again.
      */
-    private Move getPreviousDifferentMove(Move move) {
-        int row = move.getRow();
-        int column = move.getColumn();
-        int value = move.getNumber();
-
-        List<Move> moves = new ArrayList<>();
-        for (Move item : playedMoves) {
-            if (item.getRow() == row && item.getColumn() == column) {
-                moves.add(item);
-            }
+    public Coordinate redo() {
+        Move move = history.redo();
+        if (move == null) {
+            return null;
         }
 
-        for (int i = moves.size() - 2; i >= 0; i--) {
-            Move item = moves.get(i);
-            if (item.getNumber() != value) {
-                return item;
-            }
-        }
+        board.play(move);
+        refreshWrongField(move.getRow(), move.getColumn());
 
-        return null;
+        return new Coordinate(move.getRow(), move.getColumn());
+    }
+
+    /**
+     * Updates the wrong fields after value of the field on @row @column changed.
+     */
+    private void refreshWrongField(int row, int column) {
+        Field field = board.getField(row, column);
+        boolean isWrong = field.hasValue() && field.getValue() != solutionBoard.getField(row, column).getValue();
+
+        int index = row * board.getSize() + column;
+        if (isWrong != wrongFields.get(index)) {
+            wrongFields.set(index, isWrong);
+            wrongCount += isWrong ? 1 : -1;
+        }
     }
 
     /**
@@ -160,21 +237,12 @@ public class Sudoku {
      * @return
      */
     public Move getHint() {
-        // check for errors
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
-                Field field = board.getField(i, j);
-                Field solutionField = solutionBoard.getField(i, j);
-
-                if (field.hasValue()) {
-                    int userSelectedValue = field.getValue();
-                    int correctValue = solutionField.getValue();
-
-                    if (userSelectedValue != correctValue) {
-                        return new Move(i, j, correctValue);
-                    }
-                }
-            }
+        // first error (in order of rows) is fixed first
+        int wrongField = wrongFields.nextSetBit(0);
+        if (wrongField != -1) {
+            int row = wrongField / board.getSize();
+            int column = wrongField % board.getSize();
+            return new Move(row, column, solutionBoard.getField(row, column).getValue());
         }
 
         // get what player can play next
@@ -184,7 +252,6 @@ public class Sudoku {
             return null;
         }
         // randomly select which hint to give
-        Random random = new Random();
         int hintCoordinateListIndex = random.nextInt(unoccupiedFields.size());
 
         // get the coordinates
@@ -198,25 +265,16 @@ public class Sudoku {
      * @return True, if game is won, false otherwise.
      */
     public boolean isFinished() {
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
-                Field field = board.getField(i, j);
-
-                // if board field doesn't have value => surely didn't ended (need to fill that field)
-                if (!field.hasValue()) {
-                    return false;
-                }
-
-                Field solutionField = solutionBoard.getField(i, j);
-
-                // if the values are not equal => user didn't find correct solution => he has to fix it
-                if (solutionField.getValue() != field.getValue()) {
-                    return false;
-                }
-            }
-        }
+        // filled board without wrong fields is the solution
+        return board.isFilled() && wrongCount == 0;
+    }
 
-        return true;
+    /**
+     * Obtains number of fields whose value differs from the solution.
+     * @return
+     */
+    public int getWrongFieldCount() {
+        return wrongCount;
     }
 
     /**
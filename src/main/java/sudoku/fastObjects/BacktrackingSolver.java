@@ -0,0 +1,364 @@
+package sudoku.fastObjects;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solves boards by backtracking over empty cells in the order given by @{@link CellOrder}.
+ * Before each branch it can propagate constraints, setting naked and hidden singles.
+ * Fields are set in place on a copy of the board and rolled back from its trail.
+ */
+public class BacktrackingSolver implements Solver {
+    private final CellOrder cellOrder;
+
+    /**
+     * Whether naked and hidden singles are set before each branch.
+     */
+    private final boolean propagate;
+
+    public BacktrackingSolver() {
+        this(CellOrder.MOST_CONSTRAINED);
+    }
+
+    public BacktrackingSolver(CellOrder cellOrder) {
+        this(cellOrder, true);
+    }
+
+    public BacktrackingSolver(CellOrder cellOrder, boolean propagate) {
+        this.cellOrder = cellOrder;
+        this.propagate = propagate;
+    }
+
+    @Override
+    public int countSolutions(EvaluationBoard board, int limit, SearchStatistics statistics, Deadline deadline) {
+        SearchStatistics counters = new SearchStatistics();
+        EvaluationBoard workBoard = board.copy();
+        counters.allocations++;
+        AtomicInteger solutionCount = new AtomicInteger();
+
+        try {
+            countSolutions(workBoard, workBoard.getUnoccupiedFields(), 0, limit, solutionCount, counters, deadline);
+        } finally {
+            addCounters(counters, statistics, deadline);
+        }
+        return solutionCount.get();
+    }
+
+    @Override
+    public EvaluationBoard solve(EvaluationBoard board, SearchStatistics statistics, Deadline deadline) {
+        SearchStatistics counters = new SearchStatistics();
+        EvaluationBoard workBoard = board.copy();
+        counters.allocations++;
+
+        boolean solved;
+        try {
+            solved = solve(workBoard, workBoard.getUnoccupiedFields(), 0, counters, deadline);
+        } finally {
+            addCounters(counters, statistics, deadline);
+        }
+        return solved ? workBoard : null;
+    }
+
+    @Override
+    public EvaluationBoard solveExcluding(EvaluationBoard board, int rowIndex, int columnIndex, int value, SearchStatistics statistics, Deadline deadline) {
+        int cell = board.getEmptyCell(rowIndex, columnIndex);
+
+        SearchStatistics counters = new SearchStatistics();
+        EvaluationBoard workBoard = board.copy();
+        counters.allocations++;
+
+        // the field is set first, the rest is one search stopping at the first solution
+        // (cells before it are shifted, not swapped, so the others stay in row-major order)
+        int[] cells = workBoard.getUnoccupiedFields();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                System.arraycopy(cells, 0, cells, 1, i);
+                cells[0] = cell;
+                break;
+            }
+        }
+
+        boolean solved = false;
+        try {
+            for (int candidates = workBoard.getCandidates(cell) & ~(1 << (value - 1)); candidates != 0 && !solved; candidates &= candidates - 1) {
+                int mark = workBoard.getTrailSize();
+                workBoard.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+
+                solved = solve(workBoard, cells, 1, counters, deadline);
+                if (!solved) {
+                    workBoard.undo(mark);
+                    counters.backtracks++;
+                }
+            }
+        } finally {
+            addCounters(counters, statistics, deadline);
+        }
+        return solved ? workBoard : null;
+    }
+
+    /**
+     * Adds work of the search that ended (also by being stopped) to the statistics and to the deadline.
+     * @param counters Statistics of the search.
+     * @param statistics Null if the work should not be reported.
+     * @param deadline Null if the search is not limited.
+     */
+    static void addCounters(SearchStatistics counters, SearchStatistics statistics, Deadline deadline) {
+        if (statistics != null) {
+            statistics.add(counters);
+        }
+        if (deadline != null) {
+            deadline.addNodes(counters.nodes);
+        }
+    }
+
+    /**
+     * Counts solutions of the board recursively. Counter may be shared with other searches,
+     * search stops as soon as the counter reaches @limit.
+     * @param board
+     * @param cells Empty cells of the board, cells from @currentIndex on are not set yet.
+     * @param currentIndex Index of the first cell that is not set yet.
+     * @param limit
+     * @param solutionCount
+     * @param counters Statistics of this search.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @return True, if @limit solutions were found (search should stop), false otherwise.
+     */
+    boolean countSolutions(EvaluationBoard board, int[] cells, int currentIndex, int limit, AtomicInteger solutionCount, SearchStatistics counters, Deadline deadline) {
+        // enough solutions were found (possibly by other search) => stop
+        if (solutionCount.get() >= limit) {
+            return true;
+        }
+
+        counters.nodes++;
+        if ((counters.nodes & EvaluationBoard.INTERRUPT_CHECK_MASK) == 0) {
+            EvaluationBoard.checkStopped(deadline, counters.nodes);
+        }
+        int propagationMark = board.getTrailSize();
+        currentIndex = propagate(board, cells, currentIndex, counters);
+
+        boolean limitReached = currentIndex >= 0 && branch(board, cells, currentIndex, limit, solutionCount, counters, deadline);
+
+        board.undo(propagationMark);
+        return limitReached;
+    }
+
+    private boolean branch(EvaluationBoard board, int[] cells, int currentIndex, int limit, AtomicInteger solutionCount, SearchStatistics counters, Deadline deadline) {
+        // if algorithm tried all possibilities
+        if (currentIndex >= cells.length) {
+            return solutionCount.incrementAndGet() >= limit;
+        }
+
+        if (!selectCell(board, cells, currentIndex)) {
+            return false;
+        }
+        int cell = cells[currentIndex];
+
+        // iterate over set bits of the candidates, lowest number first
+        for (int candidates = board.getCandidates(cell); candidates != 0; candidates &= candidates - 1) {
+            int value = Integer.numberOfTrailingZeros(candidates) + 1;
+
+            int mark = board.getTrailSize();
+            board.place(cell, value);
+
+            boolean limitReached = countSolutions(board, cells, currentIndex + 1, limit, solutionCount, counters, deadline);
+            board.undo(mark);
+            if (limitReached) {
+                return true;
+            }
+            counters.backtracks++;
+        }
+
+        return false;
+    }
+
+    /**
+     * Fills the board recursively, trying numbers in the order of the board options.
+     * @param board
+     * @param cells Empty cells of the board, cells from @currentIndex on are not set yet.
+     * @param currentIndex Index of the first cell that is not set yet.
+     * @param counters Statistics of this search.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @return True, if the board was filled, false if there is no way to fill it (board is left as it was).
+     */
+    private boolean solve(EvaluationBoard board, int[] cells, int currentIndex, SearchStatistics counters, Deadline deadline) {
+        counters.nodes++;
+        if ((counters.nodes & EvaluationBoard.INTERRUPT_CHECK_MASK) == 0) {
+            EvaluationBoard.checkStopped(deadline, counters.nodes);
+        }
+        int propagationMark = board.getTrailSize();
+        currentIndex = propagate(board, cells, currentIndex, counters);
+        if (currentIndex < 0) {
+            board.undo(propagationMark);
+            return false;
+        }
+
+        if (currentIndex >= cells.length) {
+            return true;
+        }
+
+        if (!selectCell(board, cells, currentIndex)) {
+            board.undo(propagationMark);
+            return false;
+        }
+        int cell = cells[currentIndex];
+        int candidates = board.getCandidates(cell);
+
+        // strategy = for each field recursively find a correct sudoku solution
+        // if you find it => jump out of the function
+        for (int k = 0; k < board.getLayout().size; k++) {
+            int value = board.getOption(cell, k);
+            if ((candidates & (1 << (value - 1))) != 0) {
+                int mark = board.getTrailSize();
+                board.place(cell, value);
+
+                if (solve(board, cells, currentIndex + 1, counters, deadline)) {
+                    return true;
+                }
+                board.undo(mark);
+                counters.backtracks++;
+            }
+        }
+        board.undo(propagationMark);
+        return false;
+    }
+
+    /**
+     * Moves the cell to branch over next to @currentIndex position of @cells.
+     * @param board
+     * @param cells Empty cells of the board, cells from @currentIndex on are not set yet.
+     * @param currentIndex
+     * @return False, if there is an empty cell without candidates (no solution on this path), true otherwise.
+     */
+    boolean selectCell(EvaluationBoard board, int[] cells, int currentIndex) {
+        if (cellOrder == CellOrder.ROW_MAJOR) {
+            // without propagation cells are never reordered => they stay in row-major order
+            if (propagate) {
+                selectFirstCell(cells, currentIndex);
+            }
+            return true;
+        }
+
+        // strategy = find the cell with the fewest candidates, stop early on cell with one or none
+        int bestIndex = currentIndex;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = currentIndex; i < cells.length; i++) {
+            int count = Integer.bitCount(board.getCandidates(cells[i]));
+            if (count < bestCount) {
+                bestIndex = i;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+
+        if (bestCount == 0) {
+            return false;
+        }
+
+        swap(cells, bestIndex, currentIndex);
+        return true;
+    }
+
+    /**
+     * Moves the first cell in row-major order (the lowest cell index) to @currentIndex position of @cells,
+     * because propagation moves the cells it sets and so breaks the order of the rest.
+     * @param cells Empty cells of the board, cells from @currentIndex on are not set yet.
+     * @param currentIndex
+     */
+    private static void selectFirstCell(int[] cells, int currentIndex) {
+        int firstIndex = currentIndex;
+        for (int i = currentIndex + 1; i < cells.length; i++) {
+            if (cells[i] < cells[firstIndex]) {
+                firstIndex = i;
+            }
+        }
+        swap(cells, firstIndex, currentIndex);
+    }
+
+    /**
+     * Repeatedly sets naked singles (cells with one candidate) and hidden singles (numbers with one place in a row,
+     * column or area) until there are none. Set cells are moved in front of the cells that are not set yet.
+     * Fields are set on the trail, caller is responsible for rolling them back.
+     * @param board
+     * @param cells Empty cells of the board, cells from @currentIndex on are not set yet.
+     * @param currentIndex Index of the first cell that is not set yet.
+     * @param counters Statistics of this search.
+     * @return Index of the first cell that is not set yet after propagation, -1 if the board has no solution.
+     */
+    int propagate(EvaluationBoard board, int[] cells, int currentIndex, SearchStatistics counters) {
+        if (!propagate) {
+            return currentIndex;
+        }
+
+        BoardLayout layout = board.getLayout();
+        boolean changed = true;
+        while (changed && currentIndex < cells.length) {
+            changed = false;
+
+            // naked singles
+            for (int i = currentIndex; i < cells.length; i++) {
+                int cell = cells[i];
+                int candidates = board.getCandidates(cell);
+                if (candidates == 0) {
+                    return -1;
+                }
+                if ((candidates & (candidates - 1)) == 0) {
+                    board.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                    counters.propagatedFields++;
+                    swap(cells, i, currentIndex++);
+                    changed = true;
+                }
+            }
+
+            // hidden singles
+            for (int[] unit : layout.units) {
+                int placed = 0;
+                int once = 0;
+                int twice = 0;
+                for (int cell : unit) {
+                    if (board.isEmpty(cell)) {
+                        int candidates = board.getCandidates(cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                    else {
+                        placed |= 1 << (board.getField(cell) - 1);
+                    }
+                }
+
+                int missing = layout.allDigits & ~placed;
+                // some number has no place in the unit
+                if ((missing & ~once) != 0) {
+                    return -1;
+                }
+
+                for (int singles = once & ~twice & missing; singles != 0; singles &= singles - 1) {
+                    int bit = singles & -singles;
+                    for (int cell : unit) {
+                        if (board.isEmpty(cell) && (board.getCandidates(cell) & bit) != 0) {
+                            board.place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                            counters.propagatedFields++;
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            // move cells set by hidden singles in front of the cells that are not set yet
+            for (int i = currentIndex; i < cells.length; i++) {
+                if (!board.isEmpty(cells[i])) {
+                    swap(cells, i, currentIndex++);
+                }
+            }
+        }
+
+        return currentIndex;
+    }
+
+    private static void swap(int[] cells, int i, int j) {
+        int cell = cells[i];
+        cells[i] = cells[j];
+        cells[j] = cell;
+    }
+}
@@ -0,0 +1,166 @@
+package sudoku.fastObjects;
+
+import sudoku.objects.Board;
+
+/**
+ * Precomputed tables describing geometry of the board (rows, columns, areas and peers of every cell).
+ * Cells are addressed by flat index: cell = row * size + column.
+ * Numbers are stored in int masks (bit 0 => number 1), so boards up to 25x25 (area size 5) are supported.
+ */
+final class BoardLayout {
+    /**
+     * Layouts of all supported boards, indexed by area size.
+     */
+    private static final BoardLayout[] LAYOUTS = createLayouts();
+
+    /**
+     * Layout of the standard 9x9 board.
+     */
+    static final BoardLayout STANDARD = of(Board.AREA_SIZE);
+
+    /**
+     * Number of rows (columns) of one area, e.g. 3.
+     */
+    final int areaSize;
+
+    /**
+     * Number of rows (columns, areas, digits) of the board, e.g. 9.
+     */
+    final int size;
+
+    /**
+     * Number of cells of the board, e.g. 81.
+     */
+    final int cellCount;
+
+    /**
+     * Mask with bit set for every digit (bit 0 => digit 1).
+     */
+    final int allDigits;
+
+    /**
+     * Row, column and area index of every cell.
+     */
+    final int[] rowOf;
+    final int[] columnOf;
+    final int[] areaOf;
+
+    /**
+     * Cells of every area in row-major order.
+     */
+    final int[][] areaCells;
+
+    /**
+     * Cells of every row, column and area (rows first, then columns, then areas).
+     */
+    final int[][] units;
+
+    /**
+     * Cells sharing row, column or area with the cell (cell itself excluded), e.g. 20 for 9x9 board.
+     */
+    final int[][] peers;
+
+    /**
+     * Options of boards trying numbers in ascending order (options[cell * size + k] == k + 1).
+     * Is never modified, so it is shared by all such boards.
+     */
+    final byte[] ascendingOptions;
+
+    private BoardLayout(int areaSize) {
+        this.areaSize = areaSize;
+        this.size = areaSize * areaSize;
+        this.cellCount = size * size;
+        this.allDigits = (1 << size) - 1;
+
+        rowOf = new int[cellCount];
+        columnOf = new int[cellCount];
+        areaOf = new int[cellCount];
+        areaCells = new int[size][size];
+
+        int[] areaFill = new int[size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int column = cell % size;
+            int area = (row / areaSize) * areaSize + column / areaSize;
+
+            rowOf[cell] = row;
+            columnOf[cell] = column;
+            areaOf[cell] = area;
+            areaCells[area][areaFill[area]++] = cell;
+        }
+
+        units = new int[3 * size][];
+        for (int i = 0; i < size; i++) {
+            units[i] = new int[size];
+            units[size + i] = new int[size];
+            for (int j = 0; j < size; j++) {
+                units[i][j] = cell(i, j);
+                units[size + i][j] = cell(j, i);
+            }
+            units[2 * size + i] = areaCells[i];
+        }
+
+        // peers = same row, same column or same area, each cell counted once
+        int peerCount = 3 * size - 2 * areaSize - 1;
+        peers = new int[cellCount][peerCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = 0;
+            for (int other = 0; other < cellCount; other++) {
+                if (other != cell && (rowOf[other] == rowOf[cell] || columnOf[other] == columnOf[cell] || areaOf[other] == areaOf[cell])) {
+                    peers[cell][count++] = other;
+                }
+            }
+        }
+
+        ascendingOptions = new byte[cellCount * size];
+        for (int i = 0; i < ascendingOptions.length; i++) {
+            ascendingOptions[i] = (byte) (i % size + 1);
+        }
+    }
+
+    private static BoardLayout[] createLayouts() {
+        BoardLayout[] layouts = new BoardLayout[Board.MAX_AREA_SIZE + 1];
+        for (int areaSize = Board.MIN_AREA_SIZE; areaSize <= Board.MAX_AREA_SIZE; areaSize++) {
+            layouts[areaSize] = new BoardLayout(areaSize);
+        }
+        return layouts;
+    }
+
+    /**
+     * Obtains layout of the board with areas of @areaSize x @areaSize cells.
+     * @param areaSize
+     * @return
+     * @throws IllegalArgumentException If the size is not supported.
+     */
+    static BoardLayout of(int areaSize) {
+        if (areaSize < Board.MIN_AREA_SIZE || areaSize > Board.MAX_AREA_SIZE) {
+            throw new IllegalArgumentException("Area size must be between " + Board.MIN_AREA_SIZE + "-" + Board.MAX_AREA_SIZE + ".");
+        }
+        return LAYOUTS[areaSize];
+    }
+
+    /**
+     * Obtains layout of the board with @cellCount cells.
+     * @param cellCount
+     * @return
+     * @throws IllegalArgumentException If there is no supported board with that many cells.
+     */
+    static BoardLayout ofCellCount(int cellCount) {
+        for (int areaSize = Board.MIN_AREA_SIZE; areaSize <= Board.MAX_AREA_SIZE; areaSize++) {
+            if (LAYOUTS[areaSize].cellCount == cellCount) {
+                return LAYOUTS[areaSize];
+            }
+        }
+        throw new IllegalArgumentException("Board must have n^4 fields, n between " + Board.MIN_AREA_SIZE + "-" + Board.MAX_AREA_SIZE + " (e.g. 81).");
+    }
+
+    /**
+     * Obtains flat cell index from row and column index.
+     * @param row
+     * @param column
+     * @return
+     */
+    int cell(int row, int column) {
+        return row * size + column;
+    }
+}
@@ -0,0 +1,15 @@
+package sudoku.fastObjects;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by the search that ran out of its @{@link SearchBudget}. Is a cancellation, so code stopping
+ * on interrupted searches stops on it as well.
+ */
+public class BudgetExhaustedException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExhaustedException() {
+        super("Search ran out of its budget.");
+    }
+}
@@ -0,0 +1,17 @@
+package sudoku.fastObjects;
+
+/**
+ * Represents order in which the backtracking solver branches over empty cells.
+ */
+public enum CellOrder {
+    /**
+     * Cells are branched over in fixed row-major order, also when constraint propagation sets cells
+     * out of that order (the first cell left empty is branched over next).
+     */
+    ROW_MAJOR,
+
+    /**
+     * Always branches over the empty cell with the fewest candidates, fails as soon as any empty cell has none.
+     */
+    MOST_CONSTRAINED
+}
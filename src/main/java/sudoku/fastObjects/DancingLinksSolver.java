@@ -0,0 +1,286 @@
+package sudoku.fastObjects;
+
+/**
+ * Solves boards as exact cover problem using Algorithm X with Dancing Links.
+ * Every (cell, number) candidate is a row covering four constraints: the cell is filled, the number is in the row,
+ * in the column and in the area. Constraints satisfied by the filled fields are left out of the matrix.
+ */
+public class DancingLinksSolver implements Solver {
+    @Override
+    public int countSolutions(EvaluationBoard board, int limit, SearchStatistics statistics, Deadline deadline) {
+        Matrix matrix = new Matrix(board, deadline);
+        try {
+            matrix.search(0, limit);
+        } finally {
+            BacktrackingSolver.addCounters(matrix.counters, statistics, deadline);
+        }
+        return matrix.solutionCount;
+    }
+
+    @Override
+    public EvaluationBoard solve(EvaluationBoard board, SearchStatistics statistics, Deadline deadline) {
+        Matrix matrix = new Matrix(board, deadline);
+        try {
+            matrix.search(0, 1);
+        } finally {
+            BacktrackingSolver.addCounters(matrix.counters, statistics, deadline);
+        }
+        if (matrix.solutionCount < 1) {
+            return null;
+        }
+
+        int size = board.getLayout().size;
+        EvaluationBoard solution = board.copy();
+        for (int candidate : matrix.solution) {
+            solution.place(candidate / size, candidate % size + 1);
+        }
+        return solution;
+    }
+
+    /**
+     * Toroidal doubly linked matrix stored in primitive arrays. Node 0 is the root, nodes 1..columnCount
+     * are column headers and the rest are candidate nodes, four per candidate.
+     */
+    private static final class Matrix {
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+
+        /**
+         * Column header of each node.
+         */
+        private final int[] column;
+
+        /**
+         * Candidate (cell * size + number - 1) of each node.
+         */
+        private final int[] candidateOf;
+
+        /**
+         * Number of nodes in each column (indexed by column header).
+         */
+        private final int[] columnSize;
+
+        /**
+         * Candidates chosen on the current search path.
+         */
+        private final int[] partial;
+
+        /**
+         * Candidates of the first solution found.
+         */
+        private final int[] solution;
+
+        private int solutionCount;
+        private int nodeCount;
+
+        /**
+         * Statistics of the search over this matrix.
+         */
+        private final SearchStatistics counters = new SearchStatistics();
+
+        /**
+         * Budget of the search, null if it is not limited.
+         */
+        private final Deadline deadline;
+
+        Matrix(EvaluationBoard board, Deadline deadline) {
+            this.deadline = deadline;
+            counters.allocations++;
+
+            BoardLayout layout = board.getLayout();
+            int size = layout.size;
+            int cellCount = layout.cellCount;
+
+            // constraints: cell filled, number in row, number in column, number in area
+            boolean[] satisfied = new boolean[4 * cellCount];
+            int emptyCount = 0;
+            int candidateCount = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (board.isEmpty(cell)) {
+                    emptyCount++;
+                    candidateCount += Integer.bitCount(board.getCandidates(cell));
+                }
+                else {
+                    int[] constraints = constraints(layout, cell, board.getField(cell) - 1);
+                    for (int constraint : constraints) {
+                        satisfied[constraint] = true;
+                    }
+                }
+            }
+
+            int columnCount = 0;
+            for (boolean isSatisfied : satisfied) {
+                if (!isSatisfied) {
+                    columnCount++;
+                }
+            }
+
+            int capacity = 1 + columnCount + 4 * candidateCount;
+            left = new int[capacity];
+            right = new int[capacity];
+            up = new int[capacity];
+            down = new int[capacity];
+            column = new int[capacity];
+            candidateOf = new int[capacity];
+            columnSize = new int[columnCount + 1];
+            partial = new int[emptyCount];
+            solution = new int[emptyCount];
+
+            // link column headers in the order of constraints
+            int[] headerOf = new int[satisfied.length];
+            left[0] = columnCount;
+            right[columnCount] = 0;
+            int header = 0;
+            for (int constraint = 0; constraint < satisfied.length; constraint++) {
+                if (satisfied[constraint]) {
+                    continue;
+                }
+                header++;
+                headerOf[constraint] = header;
+                left[header] = header - 1;
+                right[header - 1] = header;
+                up[header] = header;
+                down[header] = header;
+                column[header] = header;
+            }
+            right[columnCount] = 0;
+            nodeCount = columnCount + 1;
+
+            // add candidates, in the order of the board options so the first solution found is random
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (!board.isEmpty(cell)) {
+                    continue;
+                }
+                int candidates = board.getCandidates(cell);
+                for (int k = 0; k < size; k++) {
+                    int value = board.getOption(cell, k);
+                    if ((candidates & (1 << (value - 1))) != 0) {
+                        addRow(headerOf, constraints(layout, cell, value - 1), cell * size + value - 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Obtains constraints covered by writing number (@numberIndex + 1) to the cell.
+         * @param layout
+         * @param cell
+         * @param numberIndex
+         * @return
+         */
+        private static int[] constraints(BoardLayout layout, int cell, int numberIndex) {
+            int size = layout.size;
+            int cellCount = layout.cellCount;
+            return new int[] {
+                    cell,
+                    cellCount + layout.rowOf[cell] * size + numberIndex,
+                    2 * cellCount + layout.columnOf[cell] * size + numberIndex,
+                    3 * cellCount + layout.areaOf[cell] * size + numberIndex
+            };
+        }
+
+        private void addRow(int[] headerOf, int[] constraints, int candidate) {
+            int first = nodeCount;
+            for (int i = 0; i < constraints.length; i++) {
+                int node = nodeCount++;
+                int header = headerOf[constraints[i]];
+
+                // append to the bottom of the column
+                column[node] = header;
+                candidateOf[node] = candidate;
+                up[node] = up[header];
+                down[node] = header;
+                down[up[header]] = node;
+                up[header] = node;
+                columnSize[header]++;
+
+                // append to the end of the row
+                left[node] = i == 0 ? node : node - 1;
+                right[node] = first;
+                right[left[node]] = node;
+                left[first] = node;
+            }
+        }
+
+        private void cover(int header) {
+            right[left[header]] = right[header];
+            left[right[header]] = left[header];
+            for (int i = down[header]; i != header; i = down[i]) {
+                for (int j = right[i]; j != i; j = right[j]) {
+                    down[up[j]] = down[j];
+                    up[down[j]] = up[j];
+                    columnSize[column[j]]--;
+                }
+            }
+        }
+
+        private void uncover(int header) {
+            for (int i = up[header]; i != header; i = up[i]) {
+                for (int j = left[i]; j != i; j = left[j]) {
+                    columnSize[column[j]]++;
+                    down[up[j]] = j;
+                    up[down[j]] = j;
+                }
+            }
+            right[left[header]] = header;
+            left[right[header]] = header;
+        }
+
+        /**
+         * Searches for exact covers recursively.
+         * @param depth Number of candidates chosen on the current path.
+         * @param limit
+         * @return True, if @limit solutions were found (search should stop), false otherwise.
+         */
+        private boolean search(int depth, int limit) {
+            counters.nodes++;
+            if ((counters.nodes & EvaluationBoard.INTERRUPT_CHECK_MASK) == 0) {
+                EvaluationBoard.checkStopped(deadline, counters.nodes);
+            }
+
+            // every constraint is covered => solution found
+            if (right[0] == 0) {
+                if (solutionCount == 0) {
+                    System.arraycopy(partial, 0, solution, 0, depth);
+                }
+                solutionCount++;
+
+                return solutionCount >= limit;
+            }
+
+            // strategy = choose the column with the fewest candidates
+            int header = right[0];
+            for (int j = right[header]; j != 0 && columnSize[header] > 1; j = right[j]) {
+                if (columnSize[j] < columnSize[header]) {
+                    header = j;
+                }
+            }
+            if (columnSize[header] == 0) {
+                return false;
+            }
+
+            cover(header);
+            for (int i = down[header]; i != header; i = down[i]) {
+                partial[depth] = candidateOf[i];
+                for (int j = right[i]; j != i; j = right[j]) {
+                    cover(column[j]);
+                }
+
+                boolean limitReached = search(depth + 1, limit);
+
+                for (int j = left[i]; j != i; j = left[j]) {
+                    uncover(column[j]);
+                }
+                if (limitReached) {
+                    uncover(header);
+                    return true;
+                }
+                counters.backtracks++;
+            }
+            uncover(header);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sudoku.fastObjects;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents @{@link SearchBudget} running since its start: searches given the deadline check it once per
+ * (@{@link EvaluationBoard#INTERRUPT_CHECK_MASK} + 1) nodes together with the interrupt status of their thread
+ * and stop with @{@link BudgetExhaustedException} when the budget runs out.
+ * Search nodes of all searches are counted together, so parallel searches can share one deadline.
+ */
+public final class Deadline {
+    private final SearchBudget budget;
+    private final long startNanos;
+
+    /**
+     * Search nodes of the searches that already ended.
+     */
+    private final AtomicLong nodes = new AtomicLong();
+
+    Deadline(SearchBudget budget) {
+        this.budget = budget;
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Reports whether the budget ran out.
+     * @param searchNodes Nodes visited by the running search so far, 0 between searches.
+     * @return
+     */
+    boolean isExhausted(long searchNodes) {
+        return budget.isExhausted(startNanos, nodes.get() + searchNodes);
+    }
+
+    /**
+     * Stops the search, if the budget ran out.
+     * @param searchNodes Nodes visited by the running search so far.
+     * @throws BudgetExhaustedException
+     */
+    void check(long searchNodes) {
+        if (isExhausted(searchNodes)) {
+            throw new BudgetExhaustedException();
+        }
+    }
+
+    /**
+     * Adds nodes of the search that ended (also by running out of the budget).
+     * @param searchNodes
+     */
+    void addNodes(long searchNodes) {
+        nodes.addAndGet(searchNodes);
+    }
+}
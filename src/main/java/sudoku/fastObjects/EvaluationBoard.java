@@ -1,11 +1,9 @@
 package sudoku.fastObjects;
 
-import sudoku.Coordinate;
-import sudoku.IntegerRef;
 import sudoku.objects.Board;
-import sudoku.objects.Move;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 /**
  * Created by honza on 2.2.18.
@@ -17,69 +15,100 @@ import java.util.*;
  */
 public class EvaluationBoard implements Cloneable {
     /**
-     * Represents field value on the board.
-     * (i,j) == -1 => there is no value (empty cell)
+     * Solver used when no solver is specified.
      */
-    private int[][] fields;
+    public static final Solver DEFAULT_SOLVER = new BacktrackingSolver();
 
     /**
-     * Represents numbers that cannot be used on (i, j) coordinate (0-9)
-     * e.g. on coordinates [i][j][4] = true means that in the (i,j) coordinate number 5 cannot be used
+     * Number of other solutions remembered while resetting fields.
      */
-    private boolean[][][] unavailableNumbers;
+    private static final int ALTERNATIVE_CACHE_SIZE = 8;
 
     /**
-     * Represents list of options for each (i,j) cell. For each there is a permutation of 1-10 numbers.
-     * This represents a randomness in Sudoku board generation.
+     * Searches check whether their thread was interrupted once per (mask + 1) nodes.
      */
-    private List<List<List<Integer>>> options;
+    static final long INTERRUPT_CHECK_MASK = 0x3FF;
 
-    private List<Move> solution;
+    private final BoardLayout layout;
 
-    private EvaluationBoard(int[][] fields, boolean[][][] unavailableNumbers, List<List<List<Integer>>> options) {
+    /**
+     * Represents field values on the board, indexed by flat cell index (row * size + column).
+     * fields[cell] == -1 => there is no value (empty cell)
+     */
+    private int[] fields;
+
+    /**
+     * Represents numbers that are already used in each row, column and area.
+     * e.g. bit 4 of rowMasks[i] set means that number 5 cannot be used anywhere in the i-th row
+     */
+    private int[] rowMasks;
+    private int[] columnMasks;
+    private int[] areaMasks;
+
+    /**
+     * Represents options for each cell: options[cell * size + k] is the k-th number of random permutation of 1-size numbers.
+     * This represents a randomness in Sudoku board generation. Is never modified, so it is shared by copies of the board.
+     */
+    private byte[] options;
+
+    /**
+     * Cells set during in-place search in the order they were set, so the search can roll them back.
+     * Trail is never shared between copies of the board.
+     */
+    private int[] trail;
+    private int trailSize;
+
+    private EvaluationBoard(BoardLayout layout, int[] fields, int[] rowMasks, int[] columnMasks, int[] areaMasks, byte[] options) {
+        this.layout = layout;
         this.fields = fields;
-        this.unavailableNumbers = unavailableNumbers;
+        this.rowMasks = rowMasks;
+        this.columnMasks = columnMasks;
+        this.areaMasks = areaMasks;
         this.options = options;
     }
 
-    private EvaluationBoard(int boardSize) {
-        initialize(boardSize);
+    private EvaluationBoard(BoardLayout layout, SplittableRandom random) {
+        this.layout = layout;
+        initializeFields(layout.size);
+        initializeOptions(layout.size, random);
+    }
+
+    /**
+     * Creates empty board with the options, which are shared, not copied.
+     */
+    private EvaluationBoard(BoardLayout layout, byte[] options) {
+        this.layout = layout;
+        initializeFields(layout.size);
+        this.options = options;
     }
 
-    private void initialize(int boardSize) {
+    private void initializeFields(int boardSize) {
         // initialize fields
-        fields = new int[boardSize][];
-        for (int i = 0; i < boardSize; i++) {
-            fields[i] = new int[boardSize];
-        }
+        fields = new int[layout.cellCount];
+        Arrays.fill(fields, -1);
 
-        // initialize unavailableNumbers
-        unavailableNumbers = new boolean[boardSize][][];
-        for (int i = 0; i < boardSize; i++) {
-            unavailableNumbers[i] = new boolean[boardSize][];
-            for (int j = 0; j < boardSize; j++) {
-                unavailableNumbers[i][j] = new boolean[boardSize];
-            }
-        }
+        // initialize masks
+        rowMasks = new int[boardSize];
+        columnMasks = new int[boardSize];
+        areaMasks = new int[boardSize];
+    }
 
+    private void initializeOptions(int boardSize, SplittableRandom random) {
         // initialize options
-        List<List<List<Integer>>> rows = new ArrayList<>();
-        for (int j = 0; j < boardSize; j++) {
-            List<List<Integer>> columns = new ArrayList<>();
-
-            for (int k = 0; k < boardSize; k++) {
-                List<Integer> cell = new ArrayList<>();
-                for (int l = 1; l <= boardSize; l++) {
-                    cell.add(l);
-                }
-                Collections.shuffle(cell);
-
-                columns.add(cell);
+        options = new byte[layout.cellCount * boardSize];
+        for (int cell = 0; cell < layout.cellCount; cell++) {
+            int offset = cell * boardSize;
+            for (int l = 0; l < boardSize; l++) {
+                options[offset + l] = (byte) (l + 1);
+            }
+            // shuffle
+            for (int l = boardSize - 1; l > 0; l--) {
+                int m = random.nextInt(l + 1);
+                byte swap = options[offset + l];
+                options[offset + l] = options[offset + m];
+                options[offset + m] = swap;
             }
-            rows.add(columns);
         }
-
-        options = rows;
     }
 
     /**
@@ -87,73 +116,149 @@ public class EvaluationBoard implements Cloneable {
      * @return Evaluation board representing game of Sudoku.
      */
     public static EvaluationBoard generateNew() {
-        EvaluationBoard board = new EvaluationBoard(Board.BOARD_SIZE);
-        List<EvaluationBoard> results = new ArrayList<>();
-        try {
-            board.generate(0, 0, results);
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return generateNew(DEFAULT_SOLVER);
+    }
 
-        // sudoku board with everything filled
-        EvaluationBoard sudokuBoard = results.get(0);
+    /**
+     * Generates valid game of Sudoku using specified solver.
+     * @param solver Solver that fills the empty board, trying numbers in the random order of the board options.
+     * @return Evaluation board representing game of Sudoku.
+     */
+    public static EvaluationBoard generateNew(Solver solver) {
+        return generateNew(solver, new SplittableRandom());
+    }
 
-        return sudokuBoard;
+    /**
+     * Generates valid game of Sudoku using specified solver and source of randomness.
+     * @param solver Solver that fills the empty board, trying numbers in the random order of the board options.
+     * @param random Source of randomness of the board options. Is not thread-safe, each thread needs its own.
+     * @return Evaluation board representing game of Sudoku.
+     */
+    public static EvaluationBoard generateNew(Solver solver, SplittableRandom random) {
+        return generateNew(solver, random, null);
     }
 
-    @Override
-    protected Object clone() throws CloneNotSupportedException {
-        int[][] newFields = new int[fields.length][];
-        {
-            for (int r = 0; r < fields.length; r++) {
-                newFields[r] = fields[r].clone();
+    /**
+     * Generates valid game of Sudoku using specified solver and source of randomness.
+     * @param solver Solver that fills the empty board, trying numbers in the random order of the board options.
+     * @param random Source of randomness of the board options. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @return Evaluation board representing game of Sudoku.
+     */
+    public static EvaluationBoard generateNew(Solver solver, SplittableRandom random, SearchStatistics statistics) {
+        return generateNew(Board.AREA_SIZE, solver, random, statistics);
+    }
+
+    /**
+     * Generates valid game of Sudoku with areas of @areaSize x @areaSize fields (e.g. 4 => 16x16 board).
+     * @param areaSize Size of the areas, between @{@link Board#MIN_AREA_SIZE} and @{@link Board#MAX_AREA_SIZE}.
+     * @param solver Solver that fills the empty board, trying numbers in the random order of the board options.
+     * @param random Source of randomness of the board options. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @return Evaluation board representing game of Sudoku.
+     */
+    public static EvaluationBoard generateNew(int areaSize, Solver solver, SplittableRandom random, SearchStatistics statistics) {
+        return generateNew(areaSize, solver, random, statistics, null);
+    }
+
+    /**
+     * Generates valid game of Sudoku with areas of @areaSize x @areaSize fields, stops when the deadline passes.
+     * @param areaSize Size of the areas, between @{@link Board#MIN_AREA_SIZE} and @{@link Board#MAX_AREA_SIZE}.
+     * @param solver Solver that fills the empty board, trying numbers in the random order of the board options.
+     * @param random Source of randomness of the board options. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @param deadline Budget of the filling, null if it is not limited.
+     * @return Evaluation board representing game of Sudoku.
+     * @throws BudgetExhaustedException If the budget runs out before the board is filled.
+     */
+    public static EvaluationBoard generateNew(int areaSize, Solver solver, SplittableRandom random, SearchStatistics statistics, Deadline deadline) {
+        // empty board has always a solution => solution is the board with everything filled
+        return solver.solve(new EvaluationBoard(BoardLayout.of(areaSize), random), statistics, deadline);
+    }
+
+    /**
+     * Creates board from values of the fields. Size of the board is given by number of the fields (e.g. 81 => 9x9).
+     * @param fields Values of the fields in row-major order, -1 for empty field.
+     * @return
+     */
+    public static EvaluationBoard fromFields(int[] fields) {
+        return fromFields(fields, new SplittableRandom());
+    }
+
+    /**
+     * Creates board from values of the fields.
+     * @param fields Values of the fields in row-major order, -1 for empty field.
+     * @param random Source of randomness of the board options (order in which solvers try the numbers).
+     * @return
+     */
+    public static EvaluationBoard fromFields(int[] fields, SplittableRandom random) {
+        return setFields(new EvaluationBoard(BoardLayout.ofCellCount(fields.length), random), fields);
+    }
+
+    /**
+     * Creates board from values of the fields, which tries numbers in ascending order instead of random one.
+     * Solvers find always the same solution of such board and creating it costs no shuffling,
+     * so it is meant for reading stored boards, while generation needs @{@link #fromFields(int[], SplittableRandom)}.
+     * @param fields Values of the fields in row-major order, -1 for empty field.
+     * @return
+     */
+    public static EvaluationBoard fromFieldsInOrder(int[] fields) {
+        BoardLayout layout = BoardLayout.ofCellCount(fields.length);
+        return setFields(new EvaluationBoard(layout, layout.ascendingOptions), fields);
+    }
+
+    private static EvaluationBoard setFields(EvaluationBoard board, int[] fields) {
+        BoardLayout layout = board.layout;
+        for (int cell = 0; cell < fields.length; cell++) {
+            int value = fields[cell];
+            if (value == -1) {
+                continue;
             }
-        }
-        boolean[][][] newOccupiedNumbers = new boolean[unavailableNumbers.length][][];
-        {
-            for (int i = 0; i < unavailableNumbers.length; i++) {
-                newOccupiedNumbers[i] = new boolean[unavailableNumbers.length][];
-                for (int j = 0; j < unavailableNumbers.length; j++) {
-                    newOccupiedNumbers[i][j] = Arrays.copyOf(unavailableNumbers[i][j], unavailableNumbers[i][j].length);
-                }
+            if (value < 1 || value > layout.size) {
+                throw new IllegalArgumentException("Value must be between 1-" + layout.size + " or -1 for empty field.");
+            }
+            if ((board.getCandidates(cell) & (1 << (value - 1))) == 0) {
+                throw new IllegalArgumentException("Value " + value + " is already in the row, column or area of the field.");
             }
+            board.setField(cell, value);
         }
-        return new EvaluationBoard(newFields, newOccupiedNumbers, options);
+        return board;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return copy();
     }
 
     /**
-     * Generates valid Sudoku games returning result in the results list using backtracking.
-     * @param rowIndex
-     * @param columnIndex
-     * @param results
-     * @throws CloneNotSupportedException
+     * Copies the board (trail is not copied).
+     * @return
      */
-    private void generate(int rowIndex, int columnIndex, List<EvaluationBoard> results) throws CloneNotSupportedException {
-        if (results.size() >= 1) {
-            return;
+    EvaluationBoard copy() {
+        return new EvaluationBoard(layout, fields.clone(), rowMasks.clone(), columnMasks.clone(), areaMasks.clone(), options);
+    }
+
+    /**
+     * Stops the search, if its thread was interrupted (e.g. generation was cancelled). Interrupt status is kept.
+     * @throws CancellationException
+     */
+    static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Search was interrupted.");
         }
+    }
 
-        // strategy = for each field recursively find a correct sudoku solution
-        // if you find it => jump out of the function
-        for (int k = 0; k < unavailableNumbers[rowIndex][columnIndex].length; k++) {
-            int value = options.get(rowIndex).get(columnIndex).get(k);
-            if (!unavailableNumbers[rowIndex][columnIndex][value - 1]) {
-                EvaluationBoard newBoard = (EvaluationBoard)this.clone();
-                newBoard.setField(rowIndex, columnIndex, value);
-
-                if (columnIndex + 1 >= Board.BOARD_SIZE) {
-                    // rowIndex will surely increase
-                    if (rowIndex + 1 >= Board.BOARD_SIZE) {
-                        results.add(newBoard);
-                        return;
-                    }
-                    newBoard.generate(rowIndex + 1, 0, results);
-                }
-                else {
-                    newBoard.generate(rowIndex, columnIndex + 1, results);
-                }
-            }
+    /**
+     * Stops the search, if its thread was interrupted or its deadline passed.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @param searchNodes Nodes visited by the search so far.
+     * @throws CancellationException
+     * @throws BudgetExhaustedException
+     */
+    static void checkStopped(Deadline deadline, long searchNodes) {
+        checkInterrupted();
+        if (deadline != null) {
+            deadline.check(searchNodes);
         }
     }
 
@@ -162,231 +267,350 @@ public class EvaluationBoard implements Cloneable {
      * @param numberOfFieldsToReset Number of fields that the algorithm will reset.
      */
     public EvaluationBoard resetFields(int numberOfFieldsToReset) {
-        EvaluationBoard resetBoard = null;
-        try {
-            resetBoard = (EvaluationBoard)this.clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-            return null;
+        return resetFields(numberOfFieldsToReset, DEFAULT_SOLVER);
+    }
+
+    /**
+     * Resets fields such way so the board has unique solution (only one solution). Is computationally expensive.
+     * @param numberOfFieldsToReset Number of fields that the algorithm will reset.
+     * @param solver Solver checking uniqueness of the solution after each reset.
+     */
+    public EvaluationBoard resetFields(int numberOfFieldsToReset, Solver solver) {
+        return resetFields(numberOfFieldsToReset, solver, new SplittableRandom());
+    }
+
+    /**
+     * Resets fields such way so the board has unique solution (only one solution). Is computationally expensive.
+     * @param numberOfFieldsToReset Number of fields that the algorithm will reset.
+     * @param solver Solver checking uniqueness of the solution after each reset.
+     * @param random Source of randomness choosing fields to reset. Is not thread-safe, each thread needs its own.
+     */
+    public EvaluationBoard resetFields(int numberOfFieldsToReset, Solver solver, SplittableRandom random) {
+        return resetFields(numberOfFieldsToReset, solver, random, null);
+    }
+
+    /**
+     * Resets fields such way so the board has unique solution (only one solution). Is computationally expensive.
+     * @param numberOfFieldsToReset Number of fields that the algorithm will reset.
+     * @param solver Solver checking uniqueness of the solution after each reset.
+     * @param random Source of randomness choosing fields to reset. Is not thread-safe, each thread needs its own.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @throws CancellationException If the thread is interrupted.
+     */
+    public EvaluationBoard resetFields(int numberOfFieldsToReset, Solver solver, SplittableRandom random, SearchStatistics statistics) {
+        return resetFields(numberOfFieldsToReset, solver, random, (Deadline) null, statistics);
+    }
+
+    /**
+     * Resets fields such way so the board has unique solution, until the budget (started now) runs out.
+     * @param numberOfFieldsToReset Number of fields that the algorithm will reset, if the budget allows.
+     * @param solver Solver checking uniqueness of the solution after each reset.
+     * @param random Source of randomness choosing fields to reset. Is not thread-safe, each thread needs its own.
+     * @param budget Limit of the work, null if it is not limited.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @throws CancellationException If the thread is interrupted.
+     * @see #resetFields(int, Solver, SplittableRandom, Deadline, SearchStatistics)
+     */
+    public EvaluationBoard resetFields(int numberOfFieldsToReset, Solver solver, SplittableRandom random, SearchBudget budget, SearchStatistics statistics) {
+        return resetFields(numberOfFieldsToReset, solver, random, budget == null ? null : budget.start(), statistics);
+    }
+
+    /**
+     * Resets fields such way so the board has unique solution, until the deadline passes.
+     * Board has unique solution after every accepted reset, so the board with resets done so far is returned
+     * when the deadline passes, also in the middle of a uniqueness check (that reset is taken back);
+     * @{@link #getEmptyFieldCount()} tells how many fields were reset.
+     * At least one field is reset (if @numberOfFieldsToReset is positive), however late it is: first reset
+     * of the filled board needs no search.
+     * @param numberOfFieldsToReset Number of fields that the algorithm will reset, if the budget allows.
+     * @param solver Solver checking uniqueness of the solution after each reset.
+     * @param random Source of randomness choosing fields to reset. Is not thread-safe, each thread needs its own.
+     * @param deadline Budget of the work, null if it is not limited.
+     * @param statistics Statistics the work is added to, null if it should not be reported.
+     * @throws CancellationException If the thread is interrupted.
+     */
+    public EvaluationBoard resetFields(int numberOfFieldsToReset, Solver solver, SplittableRandom random, Deadline deadline, SearchStatistics statistics) {
+        SearchStatistics counters = new SearchStatistics();
+        EvaluationBoard resetBoard = copy();
+        counters.allocations++;
+
+        resetBoard.resetRandomFields(numberOfFieldsToReset, solver, random, deadline, counters);
+
+        if (statistics != null) {
+            statistics.add(counters);
         }
-        Random random = new Random();
+        return resetBoard;
+    }
+
+    /**
+     * Resets fields of this board such way so it keeps unique solution.
+     * @param numberOfFieldsToReset
+     * @param solver
+     * @param random
+     * @param deadline Budget of the work, null if it is not limited.
+     * @param counters Statistics of the resetting.
+     */
+    private void resetRandomFields(int numberOfFieldsToReset, Solver solver, SplittableRandom random, Deadline deadline, SearchStatistics counters) {
+        // fields of other solutions found by rejected resets, latest ALTERNATIVE_CACHE_SIZE of them
+        int[][] alternatives = new int[ALTERNATIVE_CACHE_SIZE][];
+        int alternativeCount = 0;
+
         // strategy = reset random field, check if it still has unique solution, repeat at most numberOfFieldsToReset times
         for (int i = 0; i < numberOfFieldsToReset; i++) {
             for (int j = 0; ; j++) {
-                int row = random.nextInt(9);
-                int column = random.nextInt(9);
+                checkInterrupted();
+                // every reset so far was accepted => board has unique solution and can be used as it is
+                // (first reset of the filled board always succeeds without search, so it is done regardless of the budget)
+                Deadline checkDeadline = i > 0 ? deadline : null;
+                if (checkDeadline != null && checkDeadline.isExhausted(0)) {
+                    return;
+                }
+                int cell = random.nextInt(layout.cellCount);
 
-                int fieldValue = resetBoard.fields[row][column];
+                int fieldValue = fields[cell];
 
                 // this field has already been reset => continue
                 if (fieldValue < 0) {
                     continue;
                 }
                 // throwing errors
-                resetBoard.resetField(row, column);
+                resetField(cell);
 
-                // doesn't have unique solution => revert it back
-                try {
-                    if (resetBoard.hasUniqueSolution()) {
+                // some known solution still fits and differs in the field => no need to search
+                if (hasAlternative(alternatives, cell, fieldValue)) {
+                    counters.cachedRejections++;
+                }
+                else {
+                    // board had unique solution before the reset => it still has iff the field cannot have other value
+                    counters.uniquenessChecks++;
+                    EvaluationBoard alternative;
+                    try {
+                        alternative = solver.solveExcluding(this, layout.rowOf[cell], layout.columnOf[cell], fieldValue, counters, checkDeadline);
+                    } catch (BudgetExhaustedException e) {
+                        // uniqueness is not known => take the reset back and use the board as it was
+                        setField(cell, fieldValue);
+                        return;
+                    }
+                    if (alternative == null) {
                         break;
                     }
-                } catch (CloneNotSupportedException e) {
-                    e.printStackTrace();
-                    return resetBoard;
+                    alternatives[alternativeCount++ % ALTERNATIVE_CACHE_SIZE] = alternative.fields;
                 }
 
                 // doesn't have unique solution => revert it back
-                resetBoard.setField(row, column, fieldValue);
+                setField(cell, fieldValue);
+                counters.removalsRejected++;
 
                 // algorithm has tried enough times => use what you have
                 if (j >= numberOfFieldsToReset * 5) {
-                    return resetBoard;
+                    return;
                 }
             }
         }
-        return resetBoard;
     }
 
-    private boolean isEmpty(int rowIndex, int columnIndex) {
-        return fields[rowIndex][columnIndex] == -1;
+    /**
+     * Reports whether some of the solutions agrees with every filled field and has other value in the cell.
+     * Resets only remove fields, so solution agreeing once keeps agreeing.
+     * @param alternatives Fields of solutions, null for none.
+     * @param cell
+     * @param value
+     * @return
+     */
+    private boolean hasAlternative(int[][] alternatives, int cell, int value) {
+        for (int[] alternative : alternatives) {
+            if (alternative == null || alternative[cell] == value) {
+                continue;
+            }
+
+            boolean agrees = true;
+            for (int k = 0; k < fields.length && agrees; k++) {
+                agrees = fields[k] == -1 || fields[k] == alternative[k];
+            }
+            if (agrees) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty(int cell) {
+        return fields[cell] == -1;
     }
 
     /**
      * Reports whether this board has (one) unique solution. Is computationaly expensive.
      * @return
-     * @throws CloneNotSupportedException
      */
-    public boolean hasUniqueSolution() throws CloneNotSupportedException {
-        List<Coordinate> unoccupiedFieldsCoordinates = getUnoccupiedFieldsCoordinates();
+    public boolean hasUniqueSolution() {
+        return hasUniqueSolution(DEFAULT_SOLVER);
+    }
 
-        if (unoccupiedFieldsCoordinates.size() < 1) {
+    /**
+     * Reports whether this board has (one) unique solution using specified solver.
+     * @param solver
+     * @return
+     */
+    public boolean hasUniqueSolution(Solver solver) {
+        if (getUnoccupiedFields().length < 1) {
             return false;
         }
 
-        return hasUniqueSolution(unoccupiedFieldsCoordinates, 0, new IntegerRef());
+        return solver.countSolutions(this, 2) == 1;
     }
 
-    private boolean hasUniqueSolution(List<Coordinate> unoccupiedFieldsCoordinates, int currentIndex, IntegerRef solutionCount) throws CloneNotSupportedException {
-        // if algorithm tried all possibilities
-        if (currentIndex >= unoccupiedFieldsCoordinates.size()) {
-            solutionCount.increment();
-
-            if (solutionCount.getValue() > 1) {
-                return false;
+    /**
+     * Obtains number of fields without value.
+     * @return
+     */
+    public int getEmptyFieldCount() {
+        int count = 0;
+        for (int value : fields) {
+            if (value == -1) {
+                count++;
             }
-
-            return true;
         }
+        return count;
+    }
 
-        Coordinate current = unoccupiedFieldsCoordinates.get(currentIndex);
-
-        int row = current.getRow();
-        int column = current.getColumn();
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            if (!unavailableNumbers[row][column][i]) {
-                int value = i + 1;
-
-                EvaluationBoard newBoard = (EvaluationBoard)this.clone();
-                newBoard.setField(row, column, value);
-
-                boolean hasUniqueSolution = newBoard.hasUniqueSolution(unoccupiedFieldsCoordinates, currentIndex + 1, solutionCount);
-                if (!hasUniqueSolution) {
-                    return false;
-                }
+    /**
+     * Obtains flat indexes of the empty cells in row-major order.
+     * @return
+     */
+    int[] getUnoccupiedFields() {
+        int count = 0;
+        for (int cell = 0; cell < layout.cellCount; cell++) {
+            if (isEmpty(cell)) {
+                count++;
             }
         }
 
-        return true;
-    }
-
-    private List<Coordinate> getUnoccupiedFieldsCoordinates() {
-        List<Coordinate> coordinates = new ArrayList<>();
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
-                if (fields[i][j] == -1) {
-                    coordinates.add(new Coordinate(i, j));
-                }
+        int[] cells = new int[count];
+        int index = 0;
+        for (int cell = 0; cell < layout.cellCount; cell++) {
+            if (isEmpty(cell)) {
+                cells[index++] = cell;
             }
         }
-        return coordinates;
+        return cells;
     }
 
     /**
-     * Sets field to the new value, refreshing @unavailableNumbers.
+     * Obtains flat index of the field, which must be empty.
      * @param rowIndex
      * @param columnIndex
-     * @param value
+     * @return
+     * @throws IllegalArgumentException If the field is not empty.
      */
-    private void setField(int rowIndex, int columnIndex, int value) {
-        fields[rowIndex][columnIndex] = value;
+    int getEmptyCell(int rowIndex, int columnIndex) {
+        int cell = layout.cell(rowIndex, columnIndex);
+        if (!isEmpty(cell)) {
+            throw new IllegalArgumentException("Field must be empty.");
+        }
+        return cell;
+    }
 
-        int indexFromValue = value - 1;
+    /**
+     * Obtains mask of numbers that can be written to the cell (bit 0 => number 1).
+     * @param cell Flat index of the cell.
+     * @return
+     */
+    int getCandidates(int cell) {
+        int used = rowMasks[layout.rowOf[cell]] | columnMasks[layout.columnOf[cell]] | areaMasks[layout.areaOf[cell]];
+        return ~used & layout.allDigits;
+    }
 
-        // update row
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            unavailableNumbers[rowIndex][i][indexFromValue] = true;
-        }
+    /**
+     * Sets field to the new value, refreshing row, column and area masks.
+     * @param cell
+     * @param value
+     */
+    private void setField(int cell, int value) {
+        fields[cell] = value;
 
-        // update column
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            unavailableNumbers[i][columnIndex][indexFromValue] = true;
-        }
+        int bit = 1 << (value - 1);
+        rowMasks[layout.rowOf[cell]] |= bit;
+        columnMasks[layout.columnOf[cell]] |= bit;
+        areaMasks[layout.areaOf[cell]] |= bit;
+    }
 
-        Coordinate coordinate = getAreaFirstCoordinate(rowIndex, columnIndex);
+    /**
+     * Resets field, refreshing row, column and area masks.
+     * @param cell
+     */
+    private void resetField(int cell) {
+        int bit = ~(1 << (fields[cell] - 1));
 
-        int firstRowIndex = coordinate.getRow();
-        int firstColumnIndex = coordinate.getColumn();
+        fields[cell] = -1;
 
-        for (int i = firstRowIndex; i < firstRowIndex + Board.AREA_SIZE; i++) {
-            for (int j = firstColumnIndex; j < firstColumnIndex + Board.AREA_SIZE; j++) {
-                // if it is a different cell and there is same number in that same cell => cell is not correct after move
-                unavailableNumbers[i][j][indexFromValue] = true;
-            }
-        }
+        rowMasks[layout.rowOf[cell]] &= bit;
+        columnMasks[layout.columnOf[cell]] &= bit;
+        areaMasks[layout.areaOf[cell]] &= bit;
     }
 
     /**
-     * Resets field, refreshing @unavailableNumbers.
-     * @param rowIndex
-     * @param columnIndex
+     * Obtains current size of the trail, to be used as mark for @undo.
+     * @return
      */
-    private void resetField(int rowIndex, int columnIndex) {
-        int previousValueIndex = fields[rowIndex][columnIndex] - 1;
-
-        fields[rowIndex][columnIndex] = -1;
+    int getTrailSize() {
+        return trailSize;
+    }
 
-        // update row
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            unavailableNumbers[rowIndex][i][previousValueIndex] = false;
+    /**
+     * Sets field to the new value and records it on the trail, so it can be rolled back by @undo.
+     * @param cell
+     * @param value
+     */
+    void place(int cell, int value) {
+        if (trail == null) {
+            trail = new int[layout.cellCount];
         }
+        setField(cell, value);
+        trail[trailSize++] = cell;
+    }
 
-        // update column
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            unavailableNumbers[i][columnIndex][previousValueIndex] = false;
+    /**
+     * Resets fields set by @place since the trail had @mark size.
+     * @param mark Size of the trail to roll back to.
+     */
+    void undo(int mark) {
+        while (trailSize > mark) {
+            resetField(trail[--trailSize]);
         }
+    }
 
-        Coordinate coordinate = getAreaFirstCoordinate(rowIndex, columnIndex);
-
-        int firstRowIndex = coordinate.getRow();
-        int firstColumnIndex = coordinate.getColumn();
+    /**
+     * Obtains k-th number in the random order of options of the cell.
+     * @param cell
+     * @param k
+     * @return
+     */
+    int getOption(int cell, int k) {
+        return options[cell * layout.size + k];
+    }
 
-        for (int i = firstRowIndex; i < firstRowIndex + Board.AREA_SIZE; i++) {
-            for (int j = firstColumnIndex; j < firstColumnIndex + Board.AREA_SIZE; j++) {
-                // if it is a different cell and there is same number in that same cell => cell is not correct after move
-                unavailableNumbers[i][j][previousValueIndex] = false;
-            }
-        }
+    /**
+     * Obtains layout of the board.
+     * @return
+     */
+    BoardLayout getLayout() {
+        return layout;
     }
 
     /**
-     * Obtains area first coordinate (left-upper most coordinate) from the field coordinates (@rowIndex and @columnIndex).
-     * @param rowIndex Row index of the field whose area we want to identify.
-     * @param columnIndex Column index of the field whose area we want to identify.
-     * @return Left-upper most coordinate of the area containing the field.
+     * Obtains number of rows (columns, numbers) of the board.
+     * @return
      */
-    private Coordinate getAreaFirstCoordinate(int rowIndex, int columnIndex) {
-        // update cell
-        // initialize to get first row and column index of the cell so we can iterate through it
-        int firstRowIndex;
-        int firstColumnIndex;
-        if (rowIndex < Board.AREA_SIZE && columnIndex < Board.AREA_SIZE) {
-            firstRowIndex = 0;
-            firstColumnIndex = 0;
-        }
-        else if (rowIndex < Board.AREA_SIZE && columnIndex >= Board.AREA_SIZE && columnIndex < 2 * Board.AREA_SIZE) {
-            firstRowIndex = 0;
-            firstColumnIndex = Board.AREA_SIZE;
-        }
-        else if (rowIndex < Board.AREA_SIZE && columnIndex >= 2 * Board.AREA_SIZE) {
-            firstRowIndex = 0;
-            firstColumnIndex = 2 * Board.AREA_SIZE;
-        }
-        else if ((rowIndex >= Board.AREA_SIZE && rowIndex < 2 * Board.AREA_SIZE) && columnIndex < Board.AREA_SIZE) {
-            firstRowIndex = Board.AREA_SIZE;
-            firstColumnIndex = 0;
-        }
-        else if (rowIndex >= Board.AREA_SIZE && rowIndex < 2 * Board.AREA_SIZE && columnIndex >= Board.AREA_SIZE && columnIndex < 2 * Board.AREA_SIZE) {
-            firstRowIndex = Board.AREA_SIZE;
-            firstColumnIndex = Board.AREA_SIZE;
-        }
-        else if (rowIndex >= Board.AREA_SIZE && rowIndex < 2 * Board.AREA_SIZE && columnIndex >= 2 * Board.AREA_SIZE) {
-            firstRowIndex = Board.AREA_SIZE;
-            firstColumnIndex = 2 * Board.AREA_SIZE;
-        }
-        else if (rowIndex >= 2 * Board.AREA_SIZE && columnIndex < Board.AREA_SIZE) {
-            firstRowIndex = 2 * Board.AREA_SIZE;
-            firstColumnIndex = 0;
-        }
-        else if (rowIndex >= 2 * Board.AREA_SIZE && columnIndex >= Board.AREA_SIZE && columnIndex < 2 * Board.AREA_SIZE) {
-            firstRowIndex = 2 * Board.AREA_SIZE;
-            firstColumnIndex = Board.AREA_SIZE;
-        }
-        else {
-            firstRowIndex = 2 * Board.AREA_SIZE;
-            firstColumnIndex = 2 * Board.AREA_SIZE;
-        }
+    public int getSize() {
+        return layout.size;
+    }
 
-        return new Coordinate(firstRowIndex, firstColumnIndex);
+    /**
+     * Obtains number of rows (columns) of one area.
+     * @return
+     */
+    public int getAreaSize() {
+        return layout.areaSize;
     }
 
     /**
@@ -396,6 +620,15 @@ public class EvaluationBoard implements Cloneable {
      * @return
      */
     public int getField(int rowIndex, int columnIndex) {
-        return fields[rowIndex][columnIndex];
+        return fields[layout.cell(rowIndex, columnIndex)];
+    }
+
+    /**
+     * Obtains value of the field by flat cell index.
+     * @param cell
+     * @return
+     */
+    int getField(int cell) {
+        return fields[cell];
     }
 }
@@ -0,0 +1,73 @@
+package sudoku.fastObjects;
+
+/**
+ * Represents result of grading the board by @{@link Grader}: techniques needed to solve it and its score.
+ * Is not modified after it is created.
+ */
+public class Grade {
+    private final boolean solved;
+
+    /**
+     * Number of uses of every technique, indexed by its ordinal.
+     */
+    private final int[] uses;
+
+    private final Technique hardestTechnique;
+    private final int score;
+
+    Grade(boolean solved, int[] uses) {
+        this.solved = solved;
+        this.uses = uses;
+
+        Technique hardest = Technique.NONE;
+        int sum = 0;
+        for (Technique technique : Technique.values()) {
+            if (uses[technique.ordinal()] > 0) {
+                hardest = technique;
+                sum += uses[technique.ordinal()] * technique.getWeight();
+            }
+        }
+        this.hardestTechnique = solved ? hardest : Technique.BEYOND;
+        this.score = sum;
+    }
+
+    /**
+     * Reports whether the board was solved by the techniques. If it was not, it needs guessing (or has no unique solution).
+     * @return
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * Obtains the hardest technique needed to solve the board.
+     * @return Hardest technique used, @{@link Technique#NONE} if the board was full,
+     * @{@link Technique#BEYOND} if the board was not solved by the techniques (see @{@link #isSolved()}).
+     */
+    public Technique getHardestTechnique() {
+        return hardestTechnique;
+    }
+
+    /**
+     * Obtains sum of weights of all uses of the techniques.
+     * @return
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Obtains number of uses of the technique.
+     * @param technique
+     * @return
+     */
+    public int getUses(Technique technique) {
+        return uses[technique.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        // unsolved board has the hardest technique BEYOND
+        return "hardest=" + hardestTechnique + ", score=" + score;
+    }
+}
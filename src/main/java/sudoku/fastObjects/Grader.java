@@ -0,0 +1,394 @@
+package sudoku.fastObjects;
+
+/**
+ * Grades boards by solving them the way human players do: in every step the easiest @{@link Technique}
+ * that sets a field or eliminates a candidate is used. There is no guessing, so boards that need it stay unsolved.
+ * Does not modify boards passed to it and can be used from more threads at once.
+ */
+public class Grader {
+    /**
+     * Grades the board.
+     * @param board
+     * @return
+     */
+    public Grade grade(EvaluationBoard board) {
+        return new Grading(board).run();
+    }
+
+    /**
+     * Candidates of the board being graded, stored as masks (bit 0 => number 1), 0 for filled fields.
+     */
+    private static final class Grading {
+        private final BoardLayout layout;
+        private final int size;
+        private final int[] candidates;
+        private final boolean[] filled;
+        private int emptyCount;
+
+        /**
+         * Whether some empty field has no candidate (board has no solution).
+         */
+        private boolean contradiction;
+
+        private final int[] uses = new int[Technique.values().length];
+
+        /**
+         * Cells (digits, lines) chosen for the subset being tried, scratch space of the subset techniques.
+         */
+        private final int[] chosen;
+        private final int[] eligible;
+
+        Grading(EvaluationBoard board) {
+            layout = board.getLayout();
+            size = layout.size;
+            candidates = new int[layout.cellCount];
+            filled = new boolean[layout.cellCount];
+            chosen = new int[size];
+            eligible = new int[size];
+
+            for (int cell = 0; cell < layout.cellCount; cell++) {
+                if (board.isEmpty(cell)) {
+                    candidates[cell] = board.getCandidates(cell);
+                    emptyCount++;
+                }
+                else {
+                    filled[cell] = true;
+                }
+            }
+        }
+
+        Grade run() {
+            while (emptyCount > 0 && !contradiction) {
+                Technique technique = step();
+                if (technique == null) {
+                    break;
+                }
+                uses[technique.ordinal()]++;
+            }
+            return new Grade(emptyCount == 0, uses);
+        }
+
+        /**
+         * Uses the easiest technique making a progress once.
+         * @return Technique used, null if none of them helps.
+         */
+        private Technique step() {
+            // strategy = easier techniques first, so the hardest one is used only when it is really needed
+            if (hiddenSingle()) {
+                return Technique.HIDDEN_SINGLE;
+            }
+            if (nakedSingle()) {
+                return Technique.NAKED_SINGLE;
+            }
+            if (lockedCandidates()) {
+                return Technique.LOCKED_CANDIDATES;
+            }
+            if (nakedSubset(2)) {
+                return Technique.NAKED_PAIR;
+            }
+            if (hiddenSubset(2)) {
+                return Technique.HIDDEN_PAIR;
+            }
+            if (nakedSubset(3)) {
+                return Technique.NAKED_TRIPLE;
+            }
+            if (hiddenSubset(3)) {
+                return Technique.HIDDEN_TRIPLE;
+            }
+            if (fish(2)) {
+                return Technique.X_WING;
+            }
+            if (fish(3)) {
+                return Technique.SWORDFISH;
+            }
+            return null;
+        }
+
+        private void place(int cell, int value) {
+            int bit = 1 << (value - 1);
+            candidates[cell] = 0;
+            filled[cell] = true;
+            emptyCount--;
+            for (int peer : layout.peers[cell]) {
+                candidates[peer] &= ~bit;
+            }
+        }
+
+        private boolean hiddenSingle() {
+            for (int[] unit : layout.units) {
+                int once = 0;
+                int twice = 0;
+                for (int cell : unit) {
+                    twice |= once & candidates[cell];
+                    once |= candidates[cell];
+                }
+
+                int singles = once & ~twice;
+                if (singles != 0) {
+                    int bit = singles & -singles;
+                    for (int cell : unit) {
+                        if ((candidates[cell] & bit) != 0) {
+                            place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean nakedSingle() {
+            for (int cell = 0; cell < layout.cellCount; cell++) {
+                int cellCandidates = candidates[cell];
+                if (cellCandidates != 0 && (cellCandidates & (cellCandidates - 1)) == 0) {
+                    place(cell, Integer.numberOfTrailingZeros(cellCandidates) + 1);
+                    return true;
+                }
+                if (cellCandidates == 0 && !filled[cell]) {
+                    contradiction = true;
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean lockedCandidates() {
+            // pointing: candidates of the number in the area lie in one row (column) => not elsewhere in the row (column)
+            for (int area = 0; area < size; area++) {
+                int[] areaCells = layout.areaCells[area];
+                for (int digits = union(areaCells); digits != 0; digits &= digits - 1) {
+                    int bit = digits & -digits;
+                    int row = -1;
+                    int column = -1;
+                    for (int cell : areaCells) {
+                        if ((candidates[cell] & bit) == 0) {
+                            continue;
+                        }
+                        row = row == -1 || row == layout.rowOf[cell] ? layout.rowOf[cell] : -2;
+                        column = column == -1 || column == layout.columnOf[cell] ? layout.columnOf[cell] : -2;
+                    }
+
+                    if (row >= 0 && eliminate(layout.units[row], bit, areaCells, areaCells.length)) {
+                        return true;
+                    }
+                    if (column >= 0 && eliminate(layout.units[size + column], bit, areaCells, areaCells.length)) {
+                        return true;
+                    }
+                }
+            }
+
+            // claiming: candidates of the number in the row (column) lie in one area => not elsewhere in the area
+            for (int u = 0; u < 2 * size; u++) {
+                int[] line = layout.units[u];
+                for (int digits = union(line); digits != 0; digits &= digits - 1) {
+                    int bit = digits & -digits;
+                    int area = -1;
+                    for (int cell : line) {
+                        if ((candidates[cell] & bit) != 0) {
+                            area = area == -1 || area == layout.areaOf[cell] ? layout.areaOf[cell] : -2;
+                        }
+                    }
+
+                    if (area >= 0 && eliminate(layout.areaCells[area], bit, line, line.length)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Finds @n cells of a unit with only @n candidates together and eliminates them from the rest of the unit.
+         */
+        private boolean nakedSubset(int n) {
+            for (int[] unit : layout.units) {
+                int count = 0;
+                for (int cell : unit) {
+                    int bitCount = Integer.bitCount(candidates[cell]);
+                    if (bitCount >= 2 && bitCount <= n) {
+                        eligible[count++] = cell;
+                    }
+                }
+
+                if (count >= n && nakedSubset(unit, n, count, 0, 0, 0)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean nakedSubset(int[] unit, int n, int count, int start, int depth, int digits) {
+            if (depth == n) {
+                return Integer.bitCount(digits) == n && eliminate(unit, digits, chosen, n);
+            }
+
+            for (int i = start; i < count; i++) {
+                int union = digits | candidates[eligible[i]];
+                if (Integer.bitCount(union) > n) {
+                    continue;
+                }
+                chosen[depth] = eligible[i];
+                if (nakedSubset(unit, n, count, i + 1, depth + 1, union)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Finds @n numbers of a unit with only @n places together and eliminates other candidates of those places.
+         */
+        private boolean hiddenSubset(int n) {
+            for (int[] unit : layout.units) {
+                // places of every number as mask of positions within the unit
+                int count = 0;
+                for (int digits = union(unit); digits != 0; digits &= digits - 1) {
+                    int bit = digits & -digits;
+                    int places = places(unit, bit);
+                    int bitCount = Integer.bitCount(places);
+                    if (bitCount >= 2 && bitCount <= n) {
+                        eligible[count++] = bit;
+                    }
+                }
+
+                if (count >= n && hiddenSubset(unit, n, count, 0, 0, 0, 0)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hiddenSubset(int[] unit, int n, int count, int start, int depth, int digits, int places) {
+            if (depth == n) {
+                if (Integer.bitCount(places) != n) {
+                    return false;
+                }
+
+                boolean changed = false;
+                for (int positions = places; positions != 0; positions &= positions - 1) {
+                    int cell = unit[Integer.numberOfTrailingZeros(positions)];
+                    changed |= (candidates[cell] & ~digits) != 0;
+                    candidates[cell] &= digits;
+                }
+                return changed;
+            }
+
+            for (int i = start; i < count; i++) {
+                int union = places | places(unit, eligible[i]);
+                if (Integer.bitCount(union) > n) {
+                    continue;
+                }
+                if (hiddenSubset(unit, n, count, i + 1, depth + 1, digits | eligible[i], union)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Finds @n rows (columns) whose candidates of a number lie in the same @n columns (rows)
+         * and eliminates the number from the rest of those columns (rows).
+         */
+        private boolean fish(int n) {
+            for (int bit = 1; bit <= layout.allDigits; bit <<= 1) {
+                for (int base = 0; base <= size; base += size) {
+                    int cover = size - base;
+
+                    int count = 0;
+                    for (int line = 0; line < size; line++) {
+                        int bitCount = Integer.bitCount(places(layout.units[base + line], bit));
+                        if (bitCount >= 2 && bitCount <= n) {
+                            eligible[count++] = line;
+                        }
+                    }
+
+                    if (count >= n && fish(bit, base, cover, n, count, 0, 0, 0)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean fish(int bit, int base, int cover, int n, int count, int start, int depth, int positions) {
+            if (depth == n) {
+                if (Integer.bitCount(positions) != n) {
+                    return false;
+                }
+
+                boolean changed = false;
+                for (int covers = positions; covers != 0; covers &= covers - 1) {
+                    int[] coverLine = layout.units[cover + Integer.numberOfTrailingZeros(covers)];
+                    for (int i = 0; i < size; i++) {
+                        // i-th cell of the cover line lies in the i-th base line
+                        if (!contains(chosen, n, i) && (candidates[coverLine[i]] & bit) != 0) {
+                            candidates[coverLine[i]] &= ~bit;
+                            changed = true;
+                        }
+                    }
+                }
+                return changed;
+            }
+
+            for (int i = start; i < count; i++) {
+                int union = positions | places(layout.units[base + eligible[i]], bit);
+                if (Integer.bitCount(union) > n) {
+                    continue;
+                }
+                chosen[depth] = eligible[i];
+                if (fish(bit, base, cover, n, count, i + 1, depth + 1, union)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Obtains union of candidates of the cells.
+         */
+        private int union(int[] cells) {
+            int union = 0;
+            for (int cell : cells) {
+                union |= candidates[cell];
+            }
+            return union;
+        }
+
+        /**
+         * Obtains mask of positions within the unit of cells having the candidate.
+         */
+        private int places(int[] unit, int bit) {
+            int places = 0;
+            for (int i = 0; i < unit.length; i++) {
+                if ((candidates[unit[i]] & bit) != 0) {
+                    places |= 1 << i;
+                }
+            }
+            return places;
+        }
+
+        /**
+         * Eliminates @digits from candidates of @cells, except the first @keptCount cells of @kept.
+         * @return True, if some candidate was eliminated, false otherwise.
+         */
+        private boolean eliminate(int[] cells, int digits, int[] kept, int keptCount) {
+            boolean changed = false;
+            for (int cell : cells) {
+                if ((candidates[cell] & digits) != 0 && !contains(kept, keptCount, cell)) {
+                    candidates[cell] &= ~digits;
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package sudoku.fastObjects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts solutions by splitting the search tree of @{@link BacktrackingSolver} across a @{@link ForkJoinPool}.
+ * Branches of the first few levels become separate tasks sharing one solution counter, so all of them stop
+ * as soon as the limit is reached. Gives the same answers as the sequential solver.
+ * Caller waits for the tasks interruptibly, so counting stops with @{@link CancellationException} like the other solvers.
+ */
+public class ParallelSolver implements Solver {
+    private static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final BacktrackingSolver solver;
+
+    /**
+     * Number of search tree levels whose branches are forked as separate tasks.
+     */
+    private final int splitDepth;
+
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelSolver(ForkJoinPool pool) {
+        this(pool, new BacktrackingSolver(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    public ParallelSolver(ForkJoinPool pool, BacktrackingSolver solver, int splitDepth) {
+        this.pool = pool;
+        this.solver = solver;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public int countSolutions(EvaluationBoard board, int limit, SearchStatistics statistics, Deadline deadline) {
+        AtomicInteger solutionCount = new AtomicInteger();
+
+        // submitted instead of invoked => waiting for it responds to the interrupt of the calling thread
+        ForkJoinTask<Void> task = pool.submit(new CountTask(board.copy(), 0, limit, solutionCount, statistics, deadline));
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            stop(task, solutionCount, limit);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Search was interrupted.");
+        } catch (ExecutionException e) {
+            // some task ran out of the budget (or failed) => the others are not needed either
+            stop(task, solutionCount, limit);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Counting of solutions failed.", e.getCause());
+        }
+
+        // more workers may have found a solution at once
+        return Math.min(solutionCount.get(), limit);
+    }
+
+    /**
+     * Stops all tasks of the counting: tasks not started yet are cancelled and the running ones stop at their next node.
+     * @param task
+     * @param solutionCount Counter shared by the tasks, which they check on every node => it serves as their cancelled flag.
+     * @param limit
+     */
+    private static void stop(ForkJoinTask<Void> task, AtomicInteger solutionCount, int limit) {
+        solutionCount.set(limit);
+        task.cancel(true);
+    }
+
+    /**
+     * Obtains one solution of the board. Is not split, so the solution follows the random order of the board
+     * options exactly like with the sequential solver.
+     * @param board Board to be solved.
+     * @param statistics
+     * @param deadline
+     * @return
+     */
+    @Override
+    public EvaluationBoard solve(EvaluationBoard board, SearchStatistics statistics, Deadline deadline) {
+        return solver.solve(board, statistics, deadline);
+    }
+
+    /**
+     * Obtains solution in which the field has other value than @value. Is not split, first solution ends the search.
+     */
+    @Override
+    public EvaluationBoard solveExcluding(EvaluationBoard board, int rowIndex, int columnIndex, int value, SearchStatistics statistics, Deadline deadline) {
+        return solver.solveExcluding(board, rowIndex, columnIndex, value, statistics, deadline);
+    }
+
+    /**
+     * Counts solutions of the board it owns, forking one task per candidate until @splitDepth is reached.
+     */
+    private class CountTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final EvaluationBoard board;
+        private final int depth;
+        private final int limit;
+        private final AtomicInteger solutionCount;
+
+        /**
+         * Statistics the work of all tasks is added to, null if it should not be reported.
+         */
+        private final SearchStatistics statistics;
+
+        /**
+         * Budget shared by all tasks, null if it is not limited.
+         */
+        private final Deadline deadline;
+
+        CountTask(EvaluationBoard board, int depth, int limit, AtomicInteger solutionCount, SearchStatistics statistics, Deadline deadline) {
+            this.board = board;
+            this.depth = depth;
+            this.limit = limit;
+            this.solutionCount = solutionCount;
+            this.statistics = statistics;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            SearchStatistics counters = new SearchStatistics();
+            if (depth == 0) {
+                // copy of the board passed to the solver
+                counters.allocations++;
+            }
+            try {
+                split(counters);
+            } finally {
+                BacktrackingSolver.addCounters(counters, statistics, deadline);
+            }
+        }
+
+        private void split(SearchStatistics counters) {
+            if (solutionCount.get() >= limit) {
+                return;
+            }
+
+            int[] cells = board.getUnoccupiedFields();
+            if (depth >= splitDepth) {
+                solver.countSolutions(board, cells, 0, limit, solutionCount, counters, deadline);
+                return;
+            }
+
+            counters.nodes++;
+            int currentIndex = solver.propagate(board, cells, 0, counters);
+            if (currentIndex < 0) {
+                return;
+            }
+            if (currentIndex >= cells.length) {
+                solutionCount.incrementAndGet();
+                return;
+            }
+            if (!solver.selectCell(board, cells, currentIndex)) {
+                return;
+            }
+            int cell = cells[currentIndex];
+
+            List<CountTask> tasks = new ArrayList<>();
+            for (int candidates = board.getCandidates(cell); candidates != 0; candidates &= candidates - 1) {
+                EvaluationBoard branchBoard = board.copy();
+                counters.allocations++;
+                branchBoard.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+
+                tasks.add(new CountTask(branchBoard, depth + 1, limit, solutionCount, statistics, deadline));
+            }
+            invokeAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package sudoku.fastObjects;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents limit of the work of a generation or a search: time, number of search nodes, or both.
+ * Budget is measured from @{@link #start()} and the searches check it once per
+ * (@{@link EvaluationBoard#INTERRUPT_CHECK_MASK} + 1) nodes, so it is exceeded at most by that many nodes.
+ * Is not modified after it is created, so one budget can be used for any number of generations.
+ */
+public final class SearchBudget {
+    /**
+     * Time the work may take, Long.MAX_VALUE if it is not limited.
+     */
+    private final long timeoutNanos;
+
+    private final long maxNodes;
+
+    private SearchBudget(long timeoutNanos, long maxNodes) {
+        if (timeoutNanos < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("Time and number of nodes must not be negative.");
+        }
+        this.timeoutNanos = timeoutNanos;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Obtains budget running out @timeout after it is started.
+     * @param timeout
+     * @param unit
+     * @return
+     */
+    public static SearchBudget ofTime(long timeout, TimeUnit unit) {
+        return new SearchBudget(unit.toNanos(timeout), Long.MAX_VALUE);
+    }
+
+    /**
+     * Obtains budget running out when the searches visit @maxNodes search nodes.
+     * @param maxNodes
+     * @return
+     */
+    public static SearchBudget ofNodes(long maxNodes) {
+        return new SearchBudget(Long.MAX_VALUE, maxNodes);
+    }
+
+    /**
+     * Obtains budget running out @timeout after it is started or when the searches visit
+     * @maxNodes search nodes, whichever comes first.
+     * @param timeout
+     * @param unit
+     * @param maxNodes
+     * @return
+     */
+    public static SearchBudget of(long timeout, TimeUnit unit, long maxNodes) {
+        return new SearchBudget(unit.toNanos(timeout), maxNodes);
+    }
+
+    /**
+     * Starts the budget: time is measured from now, search nodes are counted from zero.
+     * @return Deadline to be passed to the searches.
+     */
+    public Deadline start() {
+        return new Deadline(this);
+    }
+
+    /**
+     * Reports whether the budget ran out.
+     * @param startNanos Value of @{@link System#nanoTime()} when the budget was started.
+     * @param nodes Number of search nodes visited so far.
+     * @return
+     */
+    boolean isExhausted(long startNanos, long nodes) {
+        return nodes >= maxNodes || System.nanoTime() - startNanos >= timeoutNanos;
+    }
+}
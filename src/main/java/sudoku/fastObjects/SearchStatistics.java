@@ -0,0 +1,116 @@
+package sudoku.fastObjects;
+
+/**
+ * Represents counters of the work done by solvers and generation.
+ * Solvers count into their own instance during the search and add it to the one passed to them when they finish,
+ * so the counters cost nothing more than a field increment and @add is the only synchronized method.
+ */
+public class SearchStatistics {
+    /**
+     * Number of search nodes visited (recursive calls of the search).
+     */
+    long nodes;
+
+    /**
+     * Number of branches that were rolled back without stopping the search.
+     */
+    long backtracks;
+
+    /**
+     * Number of fields set by constraint propagation.
+     */
+    long propagatedFields;
+
+    /**
+     * Number of boards (or other search structures) allocated by the search.
+     */
+    long allocations;
+
+    /**
+     * Number of uniqueness checks performed while resetting fields.
+     */
+    long uniquenessChecks;
+
+    /**
+     * Number of resets reverted, because the board would not have unique solution.
+     */
+    long removalsRejected;
+
+    /**
+     * Number of resets reverted by other solution found before, without any search.
+     */
+    long cachedRejections;
+
+    /**
+     * Wall time spent by generating the full board and by resetting its fields.
+     */
+    long generateNanos;
+    long resetNanos;
+
+    /**
+     * Adds counters of other statistics to these.
+     * @param other
+     */
+    public synchronized void add(SearchStatistics other) {
+        nodes += other.nodes;
+        backtracks += other.backtracks;
+        propagatedFields += other.propagatedFields;
+        allocations += other.allocations;
+        uniquenessChecks += other.uniquenessChecks;
+        removalsRejected += other.removalsRejected;
+        cachedRejections += other.cachedRejections;
+        generateNanos += other.generateNanos;
+        resetNanos += other.resetNanos;
+    }
+
+    public synchronized void addGenerateNanos(long nanos) {
+        generateNanos += nanos;
+    }
+
+    public synchronized void addResetNanos(long nanos) {
+        resetNanos += nanos;
+    }
+
+    public synchronized long getNodes() {
+        return nodes;
+    }
+
+    public synchronized long getBacktracks() {
+        return backtracks;
+    }
+
+    public synchronized long getPropagatedFields() {
+        return propagatedFields;
+    }
+
+    public synchronized long getAllocations() {
+        return allocations;
+    }
+
+    public synchronized long getUniquenessChecks() {
+        return uniquenessChecks;
+    }
+
+    public synchronized long getRemovalsRejected() {
+        return removalsRejected;
+    }
+
+    public synchronized long getCachedRejections() {
+        return cachedRejections;
+    }
+
+    public synchronized long getGenerateNanos() {
+        return generateNanos;
+    }
+
+    public synchronized long getResetNanos() {
+        return resetNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "nodes=" + nodes + ", backtracks=" + backtracks + ", propagatedFields=" + propagatedFields
+                + ", allocations=" + allocations + ", uniquenessChecks=" + uniquenessChecks
+                + ", removalsRejected=" + removalsRejected + ", cachedRejections=" + cachedRejections + ", generateNanos=" + generateNanos + ", resetNanos=" + resetNanos;
+    }
+}
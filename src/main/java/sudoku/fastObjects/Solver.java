@@ -0,0 +1,118 @@
+package sudoku.fastObjects;
+
+/**
+ * Represents algorithm that solves Sudoku boards. Solvers do not modify boards passed to them
+ * and can be used from more threads at once.
+ * Search stops with @{@link java.util.concurrent.CancellationException} soon after its thread is interrupted
+ * and with @{@link BudgetExhaustedException} soon after its @{@link Deadline} passes.
+ */
+public interface Solver {
+    /**
+     * Counts solutions of the board, stops counting when @limit solutions were found.
+     * @param board Board to be solved.
+     * @param limit Maximal number of solutions the solver looks for.
+     * @return Number of solutions, at most @limit.
+     */
+    default int countSolutions(EvaluationBoard board, int limit) {
+        return countSolutions(board, limit, null);
+    }
+
+    /**
+     * Counts solutions of the board, stops counting when @limit solutions were found.
+     * @param board Board to be solved.
+     * @param limit Maximal number of solutions the solver looks for.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @return Number of solutions, at most @limit.
+     */
+    default int countSolutions(EvaluationBoard board, int limit, SearchStatistics statistics) {
+        return countSolutions(board, limit, statistics, null);
+    }
+
+    /**
+     * Counts solutions of the board, stops counting when @limit solutions were found or the deadline passes.
+     * @param board Board to be solved.
+     * @param limit Maximal number of solutions the solver looks for.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @return Number of solutions, at most @limit.
+     * @throws BudgetExhaustedException If the budget runs out before the counting ends.
+     */
+    int countSolutions(EvaluationBoard board, int limit, SearchStatistics statistics, Deadline deadline);
+
+    /**
+     * Obtains one solution of the board. If there are more solutions, numbers are tried in the random order
+     * of the board options, so solving an empty board generates random game.
+     * @param board Board to be solved.
+     * @return Board with everything filled or null if the board has no solution.
+     */
+    default EvaluationBoard solve(EvaluationBoard board) {
+        return solve(board, null);
+    }
+
+    /**
+     * Obtains one solution of the board. If there are more solutions, numbers are tried in the random order
+     * of the board options, so solving an empty board generates random game.
+     * @param board Board to be solved.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @return Board with everything filled or null if the board has no solution.
+     */
+    default EvaluationBoard solve(EvaluationBoard board, SearchStatistics statistics) {
+        return solve(board, statistics, null);
+    }
+
+    /**
+     * Obtains one solution of the board, stops when the deadline passes.
+     * @param board Board to be solved.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @return Board with everything filled or null if the board has no solution.
+     * @throws BudgetExhaustedException If the budget runs out before the solution is found.
+     */
+    EvaluationBoard solve(EvaluationBoard board, SearchStatistics statistics, Deadline deadline);
+
+    /**
+     * Obtains solution of the board in which the empty field has other value than @value, stops at the first one found.
+     * When the board with the field set to @value has unique solution, the board has unique solution iff there is none,
+     * which is cheaper to find out than counting the solutions.
+     * @param board Board to be solved.
+     * @param rowIndex Row of the empty field.
+     * @param columnIndex Column of the empty field.
+     * @param value Value the field must not have.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @return Board with everything filled or null if there is no such solution.
+     * @throws IllegalArgumentException If the field is not empty.
+     */
+    default EvaluationBoard solveExcluding(EvaluationBoard board, int rowIndex, int columnIndex, int value, SearchStatistics statistics) {
+        return solveExcluding(board, rowIndex, columnIndex, value, statistics, null);
+    }
+
+    /**
+     * Obtains solution of the board in which the empty field has other value than @value, stops when the deadline passes.
+     * @param board Board to be solved.
+     * @param rowIndex Row of the empty field.
+     * @param columnIndex Column of the empty field.
+     * @param value Value the field must not have.
+     * @param statistics Statistics the work of the solver is added to, null if it should not be reported.
+     * @param deadline Budget of the search, null if it is not limited.
+     * @return Board with everything filled or null if there is no such solution.
+     * @throws IllegalArgumentException If the field is not empty.
+     * @throws BudgetExhaustedException If the budget runs out before the search ends.
+     */
+    default EvaluationBoard solveExcluding(EvaluationBoard board, int rowIndex, int columnIndex, int value, SearchStatistics statistics, Deadline deadline) {
+        int cell = board.getEmptyCell(rowIndex, columnIndex);
+
+        // strategy = solve the board with every other candidate of the field
+        EvaluationBoard candidateBoard = board.copy();
+        for (int candidates = board.getCandidates(cell) & ~(1 << (value - 1)); candidates != 0; candidates &= candidates - 1) {
+            int mark = candidateBoard.getTrailSize();
+            candidateBoard.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+
+            EvaluationBoard solution = solve(candidateBoard, statistics, deadline);
+            if (solution != null) {
+                return solution;
+            }
+            candidateBoard.undo(mark);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package sudoku.fastObjects;
+
+/**
+ * Represents logical technique used by human players, ordered from the easiest one.
+ */
+public enum Technique {
+    /**
+     * No technique is needed, board is already full. Is never used by the grader, only reported as the hardest one.
+     */
+    NONE("None", 0),
+
+    /**
+     * Number has only one place in a row, column or area.
+     */
+    HIDDEN_SINGLE("Hidden single", 1),
+
+    /**
+     * Cell has only one candidate.
+     */
+    NAKED_SINGLE("Naked single", 2),
+
+    /**
+     * Candidates of a number in an area lie in one row or column (or the other way round),
+     * so the number can be eliminated from the rest of the row or column (area).
+     */
+    LOCKED_CANDIDATES("Locked candidates", 5),
+
+    /**
+     * Two cells of a unit have together only two candidates, which can be eliminated from the rest of the unit.
+     */
+    NAKED_PAIR("Naked pair", 10),
+
+    /**
+     * Two numbers of a unit can be only in the same two cells, so other candidates of the cells are eliminated.
+     */
+    HIDDEN_PAIR("Hidden pair", 15),
+
+    /**
+     * Triple variants of the naked and hidden pair.
+     */
+    NAKED_TRIPLE("Naked triple", 20),
+    HIDDEN_TRIPLE("Hidden triple", 25),
+
+    /**
+     * Candidates of a number in two (three) rows lie in the same two (three) columns (or the other way round),
+     * so the number can be eliminated from the rest of the columns (rows).
+     */
+    X_WING("X-Wing", 30),
+    SWORDFISH("Swordfish", 40),
+
+    /**
+     * Board cannot be solved by the techniques above, it needs guessing (or has no unique solution).
+     * Is never used by the grader, only reported as the hardest one.
+     */
+    BEYOND("Beyond known techniques", 0);
+
+    private String value;
+
+    /**
+     * Score added for each use of the technique.
+     */
+    private int weight;
+
+    Technique(String value, int weight) {
+        this.value = value;
+        this.weight = weight;
+    }
+
+    /**
+     * Obtains score added for each use of the technique.
+     * @return
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,152 @@
+package sudoku.generation;
+
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Solver;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Generates batches of puzzles across a pool of threads.
+ * Each puzzle gets its own random source split from the batch seed in the order of puzzles,
+ * so the same seed always gives the same puzzles regardless of the number of threads.
+ */
+public class BatchGenerator implements AutoCloseable {
+    /**
+     * Number of puzzles waiting or being generated per thread, bounds memory used by large batches.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ExecutorService executor;
+    private final int threadCount;
+    private final Solver solver;
+
+    /**
+     * Whether the executor was created by this generator and should be shut down by @close.
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * Creates generator with its own pool of @threadCount threads.
+     * @param threadCount
+     */
+    public BatchGenerator(int threadCount) {
+        this(createExecutor(threadCount), threadCount, EvaluationBoard.DEFAULT_SOLVER, true);
+    }
+
+    /**
+     * Creates generator using existing executor, which is not shut down by @close.
+     * @param executor Executor running the generation.
+     * @param threadCount Number of threads of the executor used by this generator.
+     * @param solver Solver generating the boards and checking uniqueness of their solution.
+     */
+    public BatchGenerator(ExecutorService executor, int threadCount, Solver solver) {
+        this(executor, threadCount, solver, false);
+    }
+
+    private BatchGenerator(ExecutorService executor, int threadCount, Solver solver, boolean ownsExecutor) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        this.executor = executor;
+        this.threadCount = threadCount;
+        this.solver = solver;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    private static ExecutorService createExecutor(int threadCount) {
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Generates puzzles with specified difficulty.
+     * @param difficulty Difficulty of the puzzles.
+     * @param count Number of puzzles.
+     * @param seed Seed of the batch.
+     * @return Generated puzzles in the order of their seeds (same for the same seed).
+     * @throws InterruptedException
+     */
+    public List<Puzzle> generate(Difficulty difficulty, int count, long seed) throws InterruptedException {
+        Puzzle[] puzzles = new Puzzle[count];
+        generate(difficulty, count, seed, (index, puzzle) -> puzzles[index] = puzzle);
+
+        return new ArrayList<>(Arrays.asList(puzzles));
+    }
+
+    /**
+     * Generates puzzles with specified difficulty, passing each of them to @consumer as soon as it is done.
+     * Consumer is called on the calling thread, in the order the puzzles are finished.
+     * @param difficulty Difficulty of the puzzles.
+     * @param count Number of puzzles.
+     * @param seed Seed of the batch.
+     * @param consumer
+     * @throws InterruptedException
+     */
+    public void generate(Difficulty difficulty, int count, long seed, Consumer<Puzzle> consumer) throws InterruptedException {
+        generate(difficulty, count, seed, (index, puzzle) -> consumer.accept(puzzle));
+    }
+
+    private void generate(Difficulty difficulty, int count, long seed, IndexedConsumer consumer) throws InterruptedException {
+        CompletionService<IndexedPuzzle> completionService = new ExecutorCompletionService<>(executor);
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+
+        Set<Future<IndexedPuzzle>> running = new HashSet<>();
+        int submitted = 0;
+        int completed = 0;
+        try {
+            while (completed < count) {
+                // strategy = keep at most TASKS_PER_THREAD tasks per thread in flight, submit next one when one is done
+                while (submitted < count && submitted - completed < threadCount * TASKS_PER_THREAD) {
+                    int index = submitted++;
+                    // split on this thread, in the order of puzzles => puzzle does not depend on scheduling
+                    SplittableRandom random = seedRandom.split();
+                    running.add(completionService.submit(() -> new IndexedPuzzle(index, Puzzle.generate(difficulty, solver, random))));
+                }
+
+                Future<IndexedPuzzle> future = completionService.take();
+                running.remove(future);
+                IndexedPuzzle result = future.get();
+                completed++;
+                consumer.accept(result.index, result.puzzle);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Puzzle generation failed.", e.getCause());
+        } finally {
+            // stop what is left when interrupted or failed
+            for (Future<IndexedPuzzle> future : running) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Shuts down the pool of threads, if it was created by this generator.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface IndexedConsumer {
+        void accept(int index, Puzzle puzzle);
+    }
+
+    private static class IndexedPuzzle {
+        private final int index;
+        private final Puzzle puzzle;
+
+        IndexedPuzzle(int index, Puzzle puzzle) {
+            this.index = index;
+            this.puzzle = puzzle;
+        }
+    }
+}
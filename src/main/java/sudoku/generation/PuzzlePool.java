@@ -0,0 +1,221 @@
+package sudoku.generation;
+
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.fastObjects.Solver;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps bounded number of ready puzzles per difficulty, refilled by background threads.
+ * When number of ready puzzles drops below the low-water mark, the pool is refilled up to its capacity.
+ * When there is no ready puzzle, the puzzle is generated on the calling thread.
+ * Refill can derive several puzzles from each generated one by @{@link PuzzleTransformer}, which costs no search.
+ */
+public class PuzzlePool implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int DEFAULT_LOW_WATER_MARK = 3;
+    private static final int DEFAULT_DERIVED_PER_GENERATED = 32;
+
+    private static PuzzlePool defaultPool;
+
+    private final Map<Difficulty, BlockingQueue<Puzzle>> puzzles = new EnumMap<>(Difficulty.class);
+
+    /**
+     * Whether refill of the difficulty is scheduled or running.
+     */
+    private final Map<Difficulty, AtomicBoolean> refilling = new EnumMap<>(Difficulty.class);
+
+    /**
+     * Last generated puzzle of every difficulty and number of puzzles derived from it.
+     * Accessed only by the refill of the difficulty, which is never running twice at the same time.
+     */
+    private final Map<Difficulty, DerivationSource> sources = new EnumMap<>(Difficulty.class);
+
+    private final int capacity;
+    private final int lowWaterMark;
+    private final int derivedPerGenerated;
+    private final Solver solver;
+    private final ExecutorService executor;
+
+    /**
+     * Source of seeds of the generated puzzles, guarded by itself.
+     */
+    private final SplittableRandom seedRandom = new SplittableRandom();
+
+    /**
+     * Creates pool and starts filling it in the background.
+     * @param capacity Maximal number of ready puzzles per difficulty.
+     * @param lowWaterMark Number of ready puzzles below which the difficulty is refilled.
+     * @param threadCount Number of background threads refilling the pool.
+     * @param solver Solver generating the boards and checking uniqueness of their solution.
+     */
+    public PuzzlePool(int capacity, int lowWaterMark, int threadCount, Solver solver) {
+        this(capacity, lowWaterMark, threadCount, solver, 0);
+    }
+
+    /**
+     * Creates pool deriving puzzles from the generated ones and starts filling it in the background.
+     * @param capacity Maximal number of ready puzzles per difficulty.
+     * @param lowWaterMark Number of ready puzzles below which the difficulty is refilled.
+     * @param threadCount Number of background threads refilling the pool.
+     * @param solver Solver generating the boards and checking uniqueness of their solution.
+     * @param derivedPerGenerated Number of transformed puzzles derived from each generated puzzle, 0 => none.
+     */
+    public PuzzlePool(int capacity, int lowWaterMark, int threadCount, Solver solver, int derivedPerGenerated) {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("Low-water mark must be between 0 and capacity, capacity must be positive.");
+        }
+        if (derivedPerGenerated < 0) {
+            throw new IllegalArgumentException("Number of derived puzzles must not be negative.");
+        }
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.derivedPerGenerated = derivedPerGenerated;
+        this.solver = solver;
+
+        executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-pool");
+            thread.setDaemon(true);
+            // game is played on the other threads
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            puzzles.put(difficulty, new ArrayBlockingQueue<>(capacity));
+            refilling.put(difficulty, new AtomicBoolean());
+            sources.put(difficulty, new DerivationSource(splitRandom()));
+        }
+        // refills read the maps => started only when all of them are complete
+        for (Difficulty difficulty : Difficulty.values()) {
+            refill(difficulty);
+        }
+    }
+
+    /**
+     * Obtains pool shared by the whole application, creating it on the first call.
+     * @return
+     */
+    public static synchronized PuzzlePool getDefault() {
+        if (defaultPool == null) {
+            defaultPool = new PuzzlePool(DEFAULT_CAPACITY, DEFAULT_LOW_WATER_MARK, 1, EvaluationBoard.DEFAULT_SOLVER,
+                    DEFAULT_DERIVED_PER_GENERATED);
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Takes ready puzzle with specified difficulty or generates one on the calling thread if there is none.
+     * @param difficulty
+     * @return
+     * @throws CancellationException If the calling thread is interrupted while generating.
+     */
+    public Puzzle take(Difficulty difficulty) {
+        BlockingQueue<Puzzle> queue = puzzles.get(difficulty);
+        Puzzle puzzle = queue.poll();
+
+        if (queue.size() < lowWaterMark) {
+            refill(difficulty);
+        }
+
+        if (puzzle == null) {
+            puzzle = generate(difficulty);
+        }
+        return puzzle;
+    }
+
+    /**
+     * Obtains number of ready puzzles with specified difficulty.
+     * @param difficulty
+     * @return
+     */
+    public int size(Difficulty difficulty) {
+        return puzzles.get(difficulty).size();
+    }
+
+    /**
+     * Schedules refill of the difficulty up to the capacity, unless it is already scheduled.
+     * @param difficulty
+     */
+    private void refill(Difficulty difficulty) {
+        AtomicBoolean isRefilling = refilling.get(difficulty);
+        if (!isRefilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                BlockingQueue<Puzzle> queue = puzzles.get(difficulty);
+                try {
+                    while (queue.size() < capacity && !Thread.currentThread().isInterrupted()) {
+                        queue.offer(next(difficulty));
+                    }
+                } catch (CancellationException e) {
+                    // pool was closed while generating => nothing to refill anymore
+                } finally {
+                    isRefilling.set(false);
+                }
+
+                // take between the end of the loop and clearing of the flag did not schedule refill => check again
+                if (queue.size() < lowWaterMark && !executor.isShutdown()) {
+                    refill(difficulty);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // pool was closed => take generates on the calling thread
+            isRefilling.set(false);
+        }
+    }
+
+    /**
+     * Derives next puzzle from the last generated one, or generates new one when enough puzzles were derived from it.
+     * Must be called only by the refill of the difficulty.
+     * @param difficulty
+     * @return
+     */
+    private Puzzle next(Difficulty difficulty) {
+        DerivationSource source = sources.get(difficulty);
+        if (source.puzzle == null || source.derivedCount >= derivedPerGenerated) {
+            source.puzzle = generate(difficulty);
+            source.derivedCount = 0;
+            return source.puzzle;
+        }
+
+        source.derivedCount++;
+        return PuzzleTransformer.random(source.random).apply(source.puzzle);
+    }
+
+    private Puzzle generate(Difficulty difficulty) {
+        return Puzzle.generate(difficulty, solver, splitRandom());
+    }
+
+    private SplittableRandom splitRandom() {
+        synchronized (seedRandom) {
+            return seedRandom.split();
+        }
+    }
+
+    /**
+     * Stops background refilling, ready puzzles can still be taken.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static class DerivationSource {
+        private final SplittableRandom random;
+        private Puzzle puzzle;
+        private int derivedCount;
+
+        DerivationSource(SplittableRandom random) {
+            this.random = random;
+        }
+    }
+}
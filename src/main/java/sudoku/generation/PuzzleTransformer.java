@@ -0,0 +1,288 @@
+package sudoku.generation;
+
+import sudoku.Puzzle;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.objects.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Represents transformation of boards preserving their solutions: digit relabeling, swaps of rows within bands,
+ * columns within stacks, bands and stacks, transposition and rotation, and any composition of them.
+ * Transformed puzzle has unique solution iff the original has, so it can be derived without any search.
+ * Is not modified after it is created, every transformation method returns new composed transformer.
+ */
+public final class PuzzleTransformer {
+    private final int areaSize;
+    private final int size;
+
+    /**
+     * For every cell of the transformed board the cell of the original board it is taken from.
+     */
+    private final int[] sourceCells;
+
+    /**
+     * For every value - 1 of the original board its value on the transformed board.
+     */
+    private final int[] values;
+
+    private PuzzleTransformer(int areaSize, int[] sourceCells, int[] values) {
+        this.areaSize = areaSize;
+        this.size = areaSize * areaSize;
+        this.sourceCells = sourceCells;
+        this.values = values;
+    }
+
+    /**
+     * Obtains transformer of standard boards leaving them as they are.
+     * @return
+     */
+    public static PuzzleTransformer identity() {
+        return identity(Board.AREA_SIZE);
+    }
+
+    /**
+     * Obtains transformer of boards with areas of @areaSize x @areaSize fields leaving them as they are.
+     * @param areaSize
+     * @return
+     */
+    public static PuzzleTransformer identity(int areaSize) {
+        int size = areaSize * areaSize;
+        int[] sourceCells = new int[size * size];
+        for (int cell = 0; cell < sourceCells.length; cell++) {
+            sourceCells[cell] = cell;
+        }
+
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i + 1;
+        }
+        return new PuzzleTransformer(areaSize, sourceCells, values);
+    }
+
+    /**
+     * Obtains random transformer of standard boards, every composition of the allowed moves is equally likely.
+     * @param random
+     * @return
+     */
+    public static PuzzleTransformer random(SplittableRandom random) {
+        return random(Board.AREA_SIZE, random);
+    }
+
+    /**
+     * Obtains random transformer of boards with areas of @areaSize x @areaSize fields,
+     * every composition of the allowed moves is equally likely.
+     * @param areaSize
+     * @param random
+     * @return
+     */
+    public static PuzzleTransformer random(int areaSize, SplittableRandom random) {
+        PuzzleTransformer identity = identity(areaSize);
+        PuzzleTransformer transformer = identity.relabel(permutation(identity.size, 1, random));
+
+        // strategy = random order of bands and stacks, then random order of rows and columns within each of them
+        transformer = transformer.permuteLines(permutation(areaSize, 0, random), true, true);
+        transformer = transformer.permuteLines(permutation(areaSize, 0, random), false, true);
+        for (int area = 0; area < areaSize; area++) {
+            transformer = transformer.permuteLines(transformer.withinArea(area, permutation(areaSize, 0, random)), true, false);
+            transformer = transformer.permuteLines(transformer.withinArea(area, permutation(areaSize, 0, random)), false, false);
+        }
+
+        // rotation is transposition followed by reversed order of columns, so transposition is the only move left
+        if (random.nextBoolean()) {
+            transformer = transformer.transpose();
+        }
+        return transformer;
+    }
+
+    /**
+     * Obtains random permutation of @count numbers starting with @first.
+     */
+    private static int[] permutation(int count, int first, SplittableRandom random) {
+        int[] permutation = new int[count];
+        for (int i = 0; i < count; i++) {
+            permutation[i] = first + i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+
+    /**
+     * Extends permutation of lines within the area to permutation of all lines.
+     */
+    private int[] withinArea(int area, int[] permutation) {
+        int[] lines = new int[size];
+        for (int i = 0; i < size; i++) {
+            lines[i] = i;
+        }
+        for (int i = 0; i < areaSize; i++) {
+            lines[area * areaSize + i] = area * areaSize + permutation[i];
+        }
+        return lines;
+    }
+
+    /**
+     * Composes this transformer with relabeling of digits.
+     * @param digits Number (1..size) written instead of number (index + 1).
+     * @return
+     */
+    public PuzzleTransformer relabel(int[] digits) {
+        boolean[] used = new boolean[size];
+        if (digits.length != size) {
+            throw new IllegalArgumentException("Relabeling must have " + size + " digits.");
+        }
+        for (int digit : digits) {
+            if (digit < 1 || digit > size || used[digit - 1]) {
+                throw new IllegalArgumentException("Relabeling must be permutation of digits 1.." + size + ".");
+            }
+            used[digit - 1] = true;
+        }
+
+        int[] newValues = new int[size];
+        for (int i = 0; i < size; i++) {
+            newValues[i] = digits[values[i] - 1];
+        }
+        return new PuzzleTransformer(areaSize, sourceCells, newValues);
+    }
+
+    /**
+     * Composes this transformer with swap of two rows of the same band.
+     * @param row1
+     * @param row2
+     * @return
+     */
+    public PuzzleTransformer swapRows(int row1, int row2) {
+        return permuteLines(swap(row1, row2, false), true, false);
+    }
+
+    /**
+     * Composes this transformer with swap of two columns of the same stack.
+     * @param column1
+     * @param column2
+     * @return
+     */
+    public PuzzleTransformer swapColumns(int column1, int column2) {
+        return permuteLines(swap(column1, column2, false), false, false);
+    }
+
+    /**
+     * Composes this transformer with swap of two bands (rows of areas).
+     * @param band1
+     * @param band2
+     * @return
+     */
+    public PuzzleTransformer swapBands(int band1, int band2) {
+        return permuteLines(swap(band1, band2, true), true, true);
+    }
+
+    /**
+     * Composes this transformer with swap of two stacks (columns of areas).
+     * @param stack1
+     * @param stack2
+     * @return
+     */
+    public PuzzleTransformer swapStacks(int stack1, int stack2) {
+        return permuteLines(swap(stack1, stack2, true), false, true);
+    }
+
+    private int[] swap(int line1, int line2, boolean areSpans) {
+        int count = areSpans ? areaSize : size;
+        if (line1 < 0 || line1 >= count || line2 < 0 || line2 >= count) {
+            throw new IllegalArgumentException("Index must be between 0 and " + (count - 1) + ".");
+        }
+        if (!areSpans && line1 / areaSize != line2 / areaSize) {
+            throw new IllegalArgumentException("Only lines of the same band or stack can be swapped.");
+        }
+
+        int[] permutation = new int[count];
+        for (int i = 0; i < count; i++) {
+            permutation[i] = i;
+        }
+        permutation[line1] = line2;
+        permutation[line2] = line1;
+        return permutation;
+    }
+
+    /**
+     * Composes this transformer with permutation of rows or columns.
+     * @param permutation Line (or band/stack) of the current board moved to index of the permutation.
+     * @param areRows Whether rows (bands) are permuted, columns (stacks) otherwise.
+     * @param areSpans Whether bands or stacks are permuted, single rows or columns otherwise.
+     */
+    private PuzzleTransformer permuteLines(int[] permutation, boolean areRows, boolean areSpans) {
+        int[] newSourceCells = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int line = areRows ? row : column;
+                int sourceLine = areSpans
+                        ? permutation[line / areaSize] * areaSize + line % areaSize
+                        : permutation[line];
+
+                int sourceCell = areRows ? sourceLine * size + column : row * size + sourceLine;
+                newSourceCells[row * size + column] = sourceCells[sourceCell];
+            }
+        }
+        return new PuzzleTransformer(areaSize, newSourceCells, values);
+    }
+
+    /**
+     * Composes this transformer with transposition (rows become columns).
+     * @return
+     */
+    public PuzzleTransformer transpose() {
+        int[] newSourceCells = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                newSourceCells[row * size + column] = sourceCells[column * size + row];
+            }
+        }
+        return new PuzzleTransformer(areaSize, newSourceCells, values);
+    }
+
+    /**
+     * Composes this transformer with rotation by quarter turn clockwise.
+     * @return
+     */
+    public PuzzleTransformer rotate() {
+        int[] newSourceCells = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                newSourceCells[row * size + column] = sourceCells[(size - 1 - column) * size + row];
+            }
+        }
+        return new PuzzleTransformer(areaSize, newSourceCells, values);
+    }
+
+    /**
+     * Transforms the board. New board tries numbers in ascending order (nothing random is drawn),
+     * so transformed puzzles are reproducible from the seed of the transformer.
+     * @param board
+     * @return New transformed board.
+     */
+    public EvaluationBoard apply(EvaluationBoard board) {
+        if (board.getAreaSize() != areaSize) {
+            throw new IllegalArgumentException("Transformer is for boards with area size " + areaSize + ".");
+        }
+
+        int[] fields = new int[size * size];
+        for (int cell = 0; cell < fields.length; cell++) {
+            int value = board.getField(sourceCells[cell] / size, sourceCells[cell] % size);
+            fields[cell] = value == -1 ? -1 : values[value - 1];
+        }
+        return EvaluationBoard.fromFieldsInOrder(fields);
+    }
+
+    /**
+     * Transforms the puzzle, both its board and its solution.
+     * @param puzzle
+     * @return New transformed puzzle with the same difficulty.
+     */
+    public Puzzle apply(Puzzle puzzle) {
+        return new Puzzle(apply(puzzle.getBoard()), apply(puzzle.getSolution()), puzzle.getDifficulty());
+    }
+}
@@ -0,0 +1,159 @@
+package sudoku.io;
+
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.objects.Board;
+import sudoku.objects.Field;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes boards to the standard line format: 81 characters in row-major order, digit for filled field,
+ * '.' for empty field. Decoding accepts both '.' and '0' for empty field.
+ * Other board sizes use the same format with size^2 characters, numbers above 9 are letters ('A' => 10, ... 'P' => 25).
+ * Decoded boards try numbers in ascending order, so solving the same line gives always the same solution.
+ */
+public final class LineCodec {
+    /**
+     * Number of characters (bytes) of one encoded standard board.
+     */
+    public static final int LINE_LENGTH = Board.BOARD_SIZE * Board.BOARD_SIZE;
+
+    private static final char EMPTY = '.';
+
+    private LineCodec() {
+    }
+
+    /**
+     * Encodes the board to line.
+     * @param board
+     * @return
+     */
+    public static String encode(EvaluationBoard board) {
+        StringBuilder line = new StringBuilder(board.getSize() * board.getSize());
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                line.append(toCharacter(board.getField(i, j)));
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Encodes the board (e.g. board of the game in progress) to line.
+     * @param board
+     * @return
+     */
+    public static String encode(Board board) {
+        StringBuilder line = new StringBuilder(board.getSize() * board.getSize());
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                Field field = board.getField(i, j);
+                line.append(field.hasValue() ? toCharacter(field.getValue()) : EMPTY);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Encodes the board as ASCII bytes to the buffer at its position, advancing it by length of the line.
+     * @param board
+     * @param buffer
+     */
+    public static void encode(EvaluationBoard board, ByteBuffer buffer) {
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                buffer.put((byte) toCharacter(board.getField(i, j)));
+            }
+        }
+    }
+
+    /**
+     * Decodes board from the line, size of the board is given by length of the line (e.g. 81 => 9x9, 256 => 16x16).
+     * @param line
+     * @return
+     * @throws IllegalArgumentException If the line is not valid board.
+     */
+    public static EvaluationBoard decode(CharSequence line) {
+        if (!isLineLength(line.length())) {
+            throw new IllegalArgumentException("Line must have " + LINE_LENGTH + " characters (or n^4 for other sizes).");
+        }
+
+        int[] fields = new int[line.length()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = toValue(line.charAt(i));
+        }
+        return EvaluationBoard.fromFieldsInOrder(fields);
+    }
+
+    private static boolean isLineLength(int length) {
+        for (int areaSize = Board.MIN_AREA_SIZE; areaSize <= Board.MAX_AREA_SIZE; areaSize++) {
+            if (length == lineLength(areaSize)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtains number of characters (bytes) of one encoded board with areas of @areaSize x @areaSize fields.
+     * @param areaSize
+     * @return
+     */
+    public static int lineLength(int areaSize) {
+        int size = areaSize * areaSize;
+        return size * size;
+    }
+
+    /**
+     * Decodes standard board from ASCII bytes of the buffer at its position, advancing it by @LINE_LENGTH.
+     * @param buffer
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid board.
+     */
+    public static EvaluationBoard decode(ByteBuffer buffer) {
+        return decode(buffer, Board.AREA_SIZE);
+    }
+
+    /**
+     * Decodes board with areas of @areaSize x @areaSize fields from ASCII bytes of the buffer at its position,
+     * advancing it by length of the line.
+     * @param buffer
+     * @param areaSize
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid board.
+     */
+    public static EvaluationBoard decode(ByteBuffer buffer, int areaSize) {
+        int length = lineLength(areaSize);
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Buffer must have " + length + " bytes remaining.");
+        }
+
+        int[] fields = new int[length];
+        for (int i = 0; i < length; i++) {
+            fields[i] = toValue((char) buffer.get());
+        }
+        return EvaluationBoard.fromFieldsInOrder(fields);
+    }
+
+    private static char toCharacter(int value) {
+        if (value == -1) {
+            return EMPTY;
+        }
+        return value <= 9 ? (char) ('0' + value) : (char) ('A' + value - 10);
+    }
+
+    private static int toValue(char character) {
+        if (character == '.' || character == '0') {
+            return -1;
+        }
+        if (character >= '1' && character <= '9') {
+            return character - '0';
+        }
+        // board checks whether the number fits its size
+        char upperCase = Character.toUpperCase(character);
+        if (upperCase >= 'A' && upperCase <= 'Z') {
+            return upperCase - 'A' + 10;
+        }
+        throw new IllegalArgumentException("Character '" + character + "' is not digit, letter or '.'.");
+    }
+}
@@ -0,0 +1,237 @@
+package sudoku.io;
+
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.fastObjects.EvaluationBoard;
+import sudoku.objects.Board;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes boards to packed binary format: 4 bits per field (0 for empty field), two fields per byte,
+ * first field in the high half of the byte. 81 fields take 41 bytes, the spare half of the last byte holds flags.
+ * When @SOLUTION_FLAG is set, encoded solution (another 41 bytes) follows the board.
+ * Other board sizes use as many bits per field as the largest number needs (3 for 4x4, 5 for 16x16 and 25x25),
+ * fields follow each other from the highest bit and the lowest bit of the last byte is always spare for the flag.
+ * Decoded boards try numbers in ascending order and share one option table, so decoding does no shuffling.
+ */
+public final class PackedCodec {
+    /**
+     * Number of bytes of one encoded standard board.
+     */
+    public static final int BOARD_BYTES = boardBytes(Board.AREA_SIZE);
+
+    /**
+     * Number of bytes of encoded standard board followed by its solution.
+     */
+    public static final int PUZZLE_BYTES = 2 * BOARD_BYTES;
+
+    /**
+     * Flag in the spare bits of the last byte, reporting that the solution follows the board.
+     */
+    private static final int SOLUTION_FLAG = 0x1;
+
+    private PackedCodec() {
+    }
+
+    /**
+     * Obtains number of bytes of one encoded board with areas of @areaSize x @areaSize fields.
+     * @param areaSize
+     * @return
+     */
+    public static int boardBytes(int areaSize) {
+        int size = areaSize * areaSize;
+        // at least one spare bit for the flags
+        return (size * size * bitsPerField(size) + 1 + 7) / 8;
+    }
+
+    private static int bitsPerField(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Encodes the board to the buffer at its position, advancing it by @{@link #boardBytes(int)}.
+     * @param board
+     * @param buffer
+     */
+    public static void encode(EvaluationBoard board, ByteBuffer buffer) {
+        int position = buffer.position();
+        encode(board, 0, buffer, position);
+        buffer.position(position + boardBytes(board.getAreaSize()));
+    }
+
+    /**
+     * Encodes the board followed by its solution to the buffer at its position, advancing it by twice
+     * @{@link #boardBytes(int)}.
+     * @param board
+     * @param solution
+     * @param buffer
+     */
+    public static void encode(EvaluationBoard board, EvaluationBoard solution, ByteBuffer buffer) {
+        if (board.getAreaSize() != solution.getAreaSize()) {
+            throw new IllegalArgumentException("Board and its solution must have the same size.");
+        }
+
+        int position = buffer.position();
+        int boardBytes = boardBytes(board.getAreaSize());
+        encode(board, SOLUTION_FLAG, buffer, position);
+        encode(solution, 0, buffer, position + boardBytes);
+        buffer.position(position + 2 * boardBytes);
+    }
+
+    /**
+     * Encodes the puzzle (board followed by its solution) to the buffer at its position, advancing it by twice
+     * @{@link #boardBytes(int)}.
+     * @param puzzle
+     * @param buffer
+     */
+    public static void encode(Puzzle puzzle, ByteBuffer buffer) {
+        encode(puzzle.getBoard(), puzzle.getSolution(), buffer);
+    }
+
+    /**
+     * Encodes the board to the buffer at absolute @offset, position of the buffer is not changed.
+     * @param board
+     * @param flags
+     * @param buffer
+     * @param offset
+     */
+    private static void encode(EvaluationBoard board, int flags, ByteBuffer buffer, int offset) {
+        int size = board.getSize();
+        int bitsPerField = bitsPerField(size);
+        int end = offset + boardBytes(board.getAreaSize());
+
+        // bits not written yet are the lowest @bitCount bits of @bits
+        int bits = 0;
+        int bitCount = 0;
+        int index = offset;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int value = board.getField(i, j);
+                bits = bits << bitsPerField | (value == -1 ? 0 : value);
+                bitCount += bitsPerField;
+
+                while (bitCount >= 8) {
+                    bitCount -= 8;
+                    buffer.put(index++, (byte) (bits >> bitCount));
+                }
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+
+        // rest of the fields padded by zeros, flags in the lowest bits of the last byte
+        while (index < end) {
+            int last = index == end - 1 ? flags : 0;
+            buffer.put(index++, (byte) (bits << (8 - bitCount) | last));
+            bits = 0;
+            bitCount = 0;
+        }
+    }
+
+    /**
+     * Decodes standard board from the buffer at its position, advancing it past the board and its solution, if present.
+     * @param buffer
+     * @return
+     */
+    public static EvaluationBoard decode(ByteBuffer buffer) {
+        int position = buffer.position();
+        EvaluationBoard board = decode(buffer, position);
+        buffer.position(position + (hasSolution(buffer, position) ? PUZZLE_BYTES : BOARD_BYTES));
+        return board;
+    }
+
+    /**
+     * Decodes standard board from the buffer at absolute @offset, position of the buffer is not changed.
+     * @param buffer
+     * @param offset
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid board.
+     */
+    public static EvaluationBoard decode(ByteBuffer buffer, int offset) {
+        return decode(buffer, offset, Board.AREA_SIZE);
+    }
+
+    /**
+     * Decodes board with areas of @areaSize x @areaSize fields from the buffer at absolute @offset,
+     * position of the buffer is not changed.
+     * @param buffer
+     * @param offset
+     * @param areaSize
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid board.
+     */
+    public static EvaluationBoard decode(ByteBuffer buffer, int offset, int areaSize) {
+        int size = areaSize * areaSize;
+        int bitsPerField = bitsPerField(size);
+        int mask = (1 << bitsPerField) - 1;
+
+        int[] fields = new int[size * size];
+        int bits = 0;
+        int bitCount = 0;
+        int index = offset;
+        for (int cell = 0; cell < fields.length; cell++) {
+            while (bitCount < bitsPerField) {
+                bits = bits << 8 | (buffer.get(index++) & 0xFF);
+                bitCount += 8;
+            }
+            bitCount -= bitsPerField;
+            int value = (bits >> bitCount) & mask;
+            bits &= (1 << bitCount) - 1;
+
+            fields[cell] = value == 0 ? -1 : value;
+        }
+        return EvaluationBoard.fromFieldsInOrder(fields);
+    }
+
+    /**
+     * Decodes standard puzzle (board followed by its solution) from the buffer at absolute @offset,
+     * position of the buffer is not changed.
+     * @param buffer
+     * @param offset
+     * @param difficulty Difficulty of the puzzle (is not encoded).
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid puzzle or the solution is not present.
+     */
+    public static Puzzle decodePuzzle(ByteBuffer buffer, int offset, Difficulty difficulty) {
+        return decodePuzzle(buffer, offset, Board.AREA_SIZE, difficulty);
+    }
+
+    /**
+     * Decodes puzzle (board followed by its solution) with areas of @areaSize x @areaSize fields from the buffer
+     * at absolute @offset, position of the buffer is not changed.
+     * @param buffer
+     * @param offset
+     * @param areaSize
+     * @param difficulty Difficulty of the puzzle (is not encoded).
+     * @return
+     * @throws IllegalArgumentException If the bytes are not valid puzzle or the solution is not present.
+     */
+    public static Puzzle decodePuzzle(ByteBuffer buffer, int offset, int areaSize, Difficulty difficulty) {
+        if (!hasSolution(buffer, offset, areaSize)) {
+            throw new IllegalArgumentException("Encoded board has no solution.");
+        }
+        return new Puzzle(decode(buffer, offset, areaSize), decode(buffer, offset + boardBytes(areaSize), areaSize), difficulty);
+    }
+
+    /**
+     * Reports whether the standard board encoded at absolute @offset is followed by its solution.
+     * @param buffer
+     * @param offset
+     * @return
+     */
+    public static boolean hasSolution(ByteBuffer buffer, int offset) {
+        return hasSolution(buffer, offset, Board.AREA_SIZE);
+    }
+
+    /**
+     * Reports whether the board with areas of @areaSize x @areaSize fields encoded at absolute @offset
+     * is followed by its solution.
+     * @param buffer
+     * @param offset
+     * @param areaSize
+     * @return
+     */
+    public static boolean hasSolution(ByteBuffer buffer, int offset, int areaSize) {
+        return (buffer.get(offset + boardBytes(areaSize) - 1) & SOLUTION_FLAG) != 0;
+    }
+}
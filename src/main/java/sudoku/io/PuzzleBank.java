@@ -0,0 +1,189 @@
+package sudoku.io;
+
+import sudoku.Difficulty;
+import sudoku.Puzzle;
+import sudoku.objects.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only bank of puzzles stored in a file that is memory-mapped, so puzzles are not loaded to the heap.
+ *
+ * File starts with a header: magic number, version, record size, number of difficulties and for every difficulty
+ * (in the order of @{@link Difficulty#values()}) offset of its first record and number of its records.
+ * Records are puzzles encoded by @{@link PackedCodec} (board followed by its solution), grouped by difficulty.
+ */
+public class PuzzleBank implements AutoCloseable {
+    private static final int MAGIC = 0x53444B42;
+    private static final int VERSION = 1;
+    private static final int RECORD_BYTES = PackedCodec.PUZZLE_BYTES;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Difficulty.values().length * 2 * Long.BYTES;
+
+    private final FileChannel channel;
+
+    /**
+     * Mapped records of every difficulty.
+     */
+    private final Map<Difficulty, MappedByteBuffer> sections = new EnumMap<>(Difficulty.class);
+
+    private PuzzleBank(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the bank, mapping its records to memory.
+     * @param path
+     * @return
+     * @throws IOException If the file cannot be read or is not a puzzle bank.
+     */
+    public static PuzzleBank open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            PuzzleBank bank = new PuzzleBank(channel);
+            bank.map();
+            return bank;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void map() throws IOException {
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("File is not a puzzle bank of version " + VERSION + ".");
+        }
+        if (header.getInt() != RECORD_BYTES || header.getInt() != Difficulty.values().length) {
+            throw new IOException("Puzzle bank has unsupported records.");
+        }
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            long offset = header.getLong();
+            long count = header.getLong();
+            long length = count * RECORD_BYTES;
+
+            // one mapping is limited by the int index of the buffer
+            if (count < 0 || length > Integer.MAX_VALUE || offset < HEADER_BYTES || offset + length > channel.size()) {
+                throw new IOException("Puzzle bank has invalid index of difficulty " + difficulty + ".");
+            }
+            sections.put(difficulty, channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        }
+    }
+
+    /**
+     * Writes the bank to the file, streaming puzzles of every difficulty from @puzzles.
+     * Records have fixed size, so only puzzles of the default size (@{@link Board#AREA_SIZE}) can be stored.
+     * @param path
+     * @param puzzles Puzzles of every difficulty, difficulties without puzzles can be left out.
+     * @throws IOException
+     * @throws IllegalArgumentException If a puzzle has other than the default size, the file is left without the header.
+     */
+    public static void write(Path path, Map<Difficulty, ? extends Iterable<Puzzle>> puzzles) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(Difficulty.values().length);
+
+            ByteBuffer records = ByteBuffer.allocate(RECORD_BYTES * 1024);
+            long offset = HEADER_BYTES;
+            channel.position(offset);
+            for (Difficulty difficulty : Difficulty.values()) {
+                long count = 0;
+                if (puzzles.containsKey(difficulty)) {
+                    for (Puzzle puzzle : puzzles.get(difficulty)) {
+                        if (puzzle.getBoard().getAreaSize() != Board.AREA_SIZE) {
+                            throw new IllegalArgumentException("Puzzle bank stores only boards of area size " + Board.AREA_SIZE + ".");
+                        }
+                        if (!records.hasRemaining()) {
+                            writeFully(channel, records);
+                        }
+                        PackedCodec.encode(puzzle, records);
+                        count++;
+                    }
+                }
+                writeFully(channel, records);
+
+                header.putLong(offset).putLong(count);
+                offset += count * RECORD_BYTES;
+            }
+
+            channel.position(0);
+            writeFully(channel, header);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Obtains number of puzzles with specified difficulty.
+     * @param difficulty
+     * @return
+     */
+    public int size(Difficulty difficulty) {
+        return sections.get(difficulty).capacity() / RECORD_BYTES;
+    }
+
+    /**
+     * Obtains puzzle with specified difficulty, decoding it right from the mapped file.
+     * @param difficulty
+     * @param index Index of the puzzle among puzzles with the difficulty.
+     * @return
+     */
+    public Puzzle get(Difficulty difficulty, int index) {
+        if (index < 0 || index >= size(difficulty)) {
+            throw new IndexOutOfBoundsException("Bank has " + size(difficulty) + " puzzles with difficulty " + difficulty + ".");
+        }
+        // absolute reads only => buffer can be shared by threads
+        return PackedCodec.decodePuzzle(sections.get(difficulty), index * RECORD_BYTES, difficulty);
+    }
+
+    /**
+     * Obtains random puzzle with specified difficulty.
+     * @param difficulty
+     * @return
+     */
+    public Puzzle getRandom(Difficulty difficulty) {
+        return get(difficulty, ThreadLocalRandom.current().nextInt(nonEmptySize(difficulty)));
+    }
+
+    /**
+     * Obtains random puzzle with specified difficulty, chosen by @random.
+     * @param difficulty
+     * @param random
+     * @return
+     */
+    public Puzzle getRandom(Difficulty difficulty, SplittableRandom random) {
+        return get(difficulty, random.nextInt(nonEmptySize(difficulty)));
+    }
+
+    private int nonEmptySize(Difficulty difficulty) {
+        int size = size(difficulty);
+        if (size == 0) {
+            throw new IllegalStateException("Bank has no puzzle with difficulty " + difficulty + ".");
+        }
+        return size;
+    }
+
+    /**
+     * Closes the file, mapped records are released when they are garbage collected.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -11,27 +11,72 @@ import java.util.List;
  */
 public class Board {
     private Field[][] fields;
+
+    /**
+     * Size of the standard board and of its areas.
+     */
     public static final int BOARD_SIZE = 9;
     public static final int AREA_SIZE = 3;
 
+    /**
+     * Smallest and largest supported size of the areas (4x4 and 25x25 board).
+     */
+    public static final int MIN_AREA_SIZE = 2;
+    public static final int MAX_AREA_SIZE = 5;
+
+    private final int size;
+    private final int areaSize;
+
+    /**
+     * Number of fields with a value, kept by every change made through the board.
+     */
+    private int filledCount;
+
     public Board() {
-        fields = new Field[BOARD_SIZE][];
+        this(AREA_SIZE);
+    }
+
+    /**
+     * Creates empty board with areas of @areaSize x @areaSize fields (board has @areaSize^2 rows and columns).
+     * @param areaSize
+     */
+    public Board(int areaSize) {
+        if (areaSize < MIN_AREA_SIZE || areaSize > MAX_AREA_SIZE) {
+            throw new IllegalArgumentException("Area size must be between " + MIN_AREA_SIZE + "-" + MAX_AREA_SIZE + ".");
+        }
+        this.areaSize = areaSize;
+        this.size = areaSize * areaSize;
 
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            fields[i] = new Field[BOARD_SIZE];
-            for (int j = 0; j < BOARD_SIZE; j++) {
+        fields = new Field[size][];
+
+        for (int i = 0; i < size; i++) {
+            fields[i] = new Field[size];
+            for (int j = 0; j < size; j++) {
 
                 fields[i][j] = new Field();
             }
         }
     }
 
-    Board(Field[][] fields) {
-        this.fields = fields;
+    /**
+     * Obtains number of rows (columns, numbers) of the board.
+     * @return
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Obtains number of rows (columns) of one area.
+     * @return
+     */
+    public int getAreaSize() {
+        return areaSize;
     }
 
     /**
      * Obtains field on @i @j coordinate.
+     * Values should be changed through the board (@{@link #play(Move)}, @{@link #resetField(int, int)}), so it can count them.
      * @param i
      * @param j
      * @return
@@ -46,12 +91,12 @@ public class Board {
      * @return
      */
     public static Board fromEvaluationBoard(EvaluationBoard evaluationBoard) {
-        Board board = new Board();
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
+        Board board = new Board(evaluationBoard.getAreaSize());
+        for (int i = 0; i < board.size; i++) {
+            for (int j = 0; j < board.size; j++) {
                 int value = evaluationBoard.getField(i, j);
                 if (value != -1) {
-                    board.getField(i, j).setValue(value);
+                    board.setField(i, j, value);
                 }
             }
         }
@@ -64,8 +109,8 @@ public class Board {
      */
     public List<Coordinate> getUnoccupiedFieldsCoordinates() {
         List<Coordinate> coordinates = new ArrayList<>();
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 if (!fields[i][j].hasValue()) {
                     coordinates.add(new Coordinate(i, j));
                 }
@@ -83,7 +128,32 @@ public class Board {
         int column = move.getColumn();
         int value = move.getNumber();
 
-        fields[row][column].setValue(value);
+        if (value > size) {
+            throw new IllegalArgumentException("Value must be between 1-" + size + ".");
+        }
+        setField(row, column, value);
+    }
+
+    private void setField(int row, int column, int value) {
+        Field field = fields[row][column];
+        boolean wasEmpty = !field.hasValue();
+        field.setValue(value);
+        if (wasEmpty) {
+            filledCount++;
+        }
+    }
+
+    /**
+     * Resets value of the field on @row @column coordinate.
+     * @param row
+     * @param column
+     */
+    public void resetField(int row, int column) {
+        Field field = fields[row][column];
+        if (field.hasValue()) {
+            filledCount--;
+        }
+        field.resetValue();
     }
 
     /**
@@ -91,13 +161,6 @@ public class Board {
      * @return True, if there are all fields filled, false otherwise.
      */
     public boolean isFilled() {
-        for (int i = 0; i < Board.BOARD_SIZE; i++) {
-            for (int j = 0; j < Board.BOARD_SIZE; j++) {
-                if (!fields[i][j].hasValue()) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return filledCount == size * size;
     }
 }
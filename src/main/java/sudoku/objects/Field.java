@@ -43,8 +43,9 @@ public class Field {
      * @param value
      */
     public void setValue(int value) {
-        if (value > 9 || value < 1) {
-            throw new IllegalArgumentException("Value must be between 0-9 (valid digit).");
+        // board checks its own size, field only knows the largest one
+        if (value > Board.MAX_AREA_SIZE * Board.MAX_AREA_SIZE || value < 1) {
+            throw new IllegalArgumentException("Value must be between 1-" + Board.MAX_AREA_SIZE * Board.MAX_AREA_SIZE + ".");
         }
 
         this.value = value;
@@ -0,0 +1,17 @@
+package sudoku.statistics;
+
+import sudoku.Puzzle;
+import sudoku.fastObjects.SearchStatistics;
+
+/**
+ * Listens to generation of puzzles. Is called on the thread that generated the puzzle,
+ * so implementations have to be thread-safe and fast.
+ */
+public interface GenerationListener {
+    /**
+     * Is invoked when a puzzle was generated.
+     * @param puzzle Generated puzzle.
+     * @param statistics Work done while generating the puzzle.
+     */
+    void puzzleGenerated(Puzzle puzzle, SearchStatistics statistics);
+}
@@ -0,0 +1,126 @@
+package sudoku.statistics;
+
+import sudoku.Puzzle;
+import sudoku.fastObjects.SearchStatistics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums statistics of generated puzzles and exposes them as JMX MBean.
+ */
+public class GenerationMonitor implements GenerationListener, GenerationMonitorMXBean {
+    public static final String OBJECT_NAME = "sudoku:type=GenerationMonitor";
+
+    /**
+     * System property enabling the monitor in applications which do not register it always (-Dsudoku.monitor=true).
+     */
+    public static final String ENABLED_PROPERTY = "sudoku.monitor";
+
+    private long generatedPuzzles;
+    private long maxPuzzleNanos;
+    private SearchStatistics totals = new SearchStatistics();
+
+    /**
+     * Registers the monitor in the platform MBean server and as listener of generation of puzzles.
+     * @return Registered monitor.
+     * @throws JMException If the MBean cannot be registered (e.g. it is already registered).
+     */
+    public static GenerationMonitor register() throws JMException {
+        GenerationMonitor monitor = new GenerationMonitor();
+        ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, new ObjectName(OBJECT_NAME));
+        Puzzle.addGenerationListener(monitor);
+        return monitor;
+    }
+
+    /**
+     * Registers the monitor if it is enabled by @{@link #ENABLED_PROPERTY}.
+     * Failure of the registration is only reported, the application runs without the monitor.
+     * @return Registered monitor, null if it is not enabled or cannot be registered.
+     */
+    public static GenerationMonitor registerIfEnabled() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        try {
+            return register();
+        } catch (JMException e) {
+            System.err.println("Generation monitor was not registered: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void puzzleGenerated(Puzzle puzzle, SearchStatistics statistics) {
+        generatedPuzzles++;
+        maxPuzzleNanos = Math.max(maxPuzzleNanos, statistics.getGenerateNanos() + statistics.getResetNanos());
+        totals.add(statistics);
+    }
+
+    @Override
+    public synchronized long getGeneratedPuzzles() {
+        return generatedPuzzles;
+    }
+
+    @Override
+    public long getNodes() {
+        return getTotals().getNodes();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return getTotals().getBacktracks();
+    }
+
+    @Override
+    public long getPropagatedFields() {
+        return getTotals().getPropagatedFields();
+    }
+
+    @Override
+    public long getAllocations() {
+        return getTotals().getAllocations();
+    }
+
+    @Override
+    public long getUniquenessChecks() {
+        return getTotals().getUniquenessChecks();
+    }
+
+    @Override
+    public long getRemovalsRejected() {
+        return getTotals().getRemovalsRejected();
+    }
+
+    @Override
+    public long getCachedRejections() {
+        return getTotals().getCachedRejections();
+    }
+
+    @Override
+    public long getGenerateMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getTotals().getGenerateNanos());
+    }
+
+    @Override
+    public long getResetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getTotals().getResetNanos());
+    }
+
+    @Override
+    public synchronized long getMaxPuzzleMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxPuzzleNanos);
+    }
+
+    @Override
+    public synchronized void reset() {
+        generatedPuzzles = 0;
+        maxPuzzleNanos = 0;
+        totals = new SearchStatistics();
+    }
+
+    private synchronized SearchStatistics getTotals() {
+        return totals;
+    }
+}
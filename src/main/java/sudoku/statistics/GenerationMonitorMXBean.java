@@ -0,0 +1,34 @@
+package sudoku.statistics;
+
+/**
+ * Management interface of @{@link GenerationMonitor}, values are totals since the monitor was created or reset.
+ */
+public interface GenerationMonitorMXBean {
+    long getGeneratedPuzzles();
+
+    long getNodes();
+
+    long getBacktracks();
+
+    long getPropagatedFields();
+
+    long getAllocations();
+
+    long getUniquenessChecks();
+
+    long getRemovalsRejected();
+
+    long getCachedRejections();
+
+    long getGenerateMillis();
+
+    long getResetMillis();
+
+    /**
+     * Obtains wall time of the slowest puzzle generated.
+     * @return
+     */
+    long getMaxPuzzleMillis();
+
+    void reset();
+}